@@ -1,11 +1,24 @@
 package dev.nxms.commandcooldown;
 
+import dev.nxms.commandcooldown.api.CooldownService;
 import dev.nxms.commandcooldown.commands.CooldownCommand;
 import dev.nxms.commandcooldown.listeners.CommandListener;
+import dev.nxms.commandcooldown.listeners.CommandMapListener;
+import dev.nxms.commandcooldown.listeners.PlayerListener;
+import dev.nxms.commandcooldown.listeners.ServerCommandListener;
+import dev.nxms.commandcooldown.listeners.TabCompleteListener;
+import dev.nxms.commandcooldown.managers.AuditLog;
+import dev.nxms.commandcooldown.managers.CommandResolver;
 import dev.nxms.commandcooldown.managers.ConfigManager;
+import dev.nxms.commandcooldown.managers.ConfigWatcher;
 import dev.nxms.commandcooldown.managers.CooldownManager;
+import dev.nxms.commandcooldown.managers.CooldownServiceImpl;
+import dev.nxms.commandcooldown.managers.CountdownDisplay;
+import dev.nxms.commandcooldown.managers.HeavyHitters;
 import dev.nxms.commandcooldown.managers.MessageManager;
+import dev.nxms.commandcooldown.managers.TierManager;
 import org.bukkit.command.PluginCommand;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Objects;
@@ -17,16 +30,19 @@ public class CommandCooldown extends JavaPlugin {
     private ConfigManager configManager;
     private MessageManager messageManager;
     private CooldownManager cooldownManager;
+    private CommandResolver commandResolver;
+    private TierManager tierManager;
+    private HeavyHitters heavyHitters;
+    private CountdownDisplay countdownDisplay;
+    private ConfigWatcher configWatcher;
+    private AuditLog auditLog;
 
     @Override
     public void onEnable() {
         instance = this;
 
         saveDefaultConfig();
-
-        this.configManager = new ConfigManager(this);
-        this.messageManager = new MessageManager(this);
-        this.cooldownManager = new CooldownManager(this);
+        createManagers();
 
         CooldownCommand cmdExec = new CooldownCommand(this);
         PluginCommand cmd = Objects.requireNonNull(getCommand("commandcooldown"), "No 'commandcooldown' command in plugin.yml");
@@ -37,9 +53,57 @@ public class CommandCooldown extends JavaPlugin {
         getServer().getPluginManager().registerEvents(new CommandListener(this), this);
         getLogger().info("Registered command listener.");
 
+        getServer().getPluginManager().registerEvents(new ServerCommandListener(this), this);
+        getLogger().info("Registered server command listener.");
+
+        getServer().getPluginManager().registerEvents(new CommandMapListener(this), this);
+        getLogger().info("Registered command map listener.");
+
+        getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
+        getLogger().info("Registered player listener.");
+
+        getServer().getPluginManager().registerEvents(new TabCompleteListener(cmdExec), this);
+        getLogger().info("Registered tab complete listener.");
+
+        getServer().getServicesManager().register(CooldownService.class, new CooldownServiceImpl(this), this, ServicePriority.Normal);
+        getLogger().info("Registered cooldown service.");
+
+        this.configWatcher = new ConfigWatcher(this);
+        updateWatcher();
+
         getLogger().info("CommandCooldown plugin has been enabled.");
     }
 
+    // Menedżery bez rejestracji komend, listenerów i usługi - testy składają z nich plugin bez serwera
+    void createManagers() {
+        this.configManager = new ConfigManager(this);
+        this.messageManager = new MessageManager(this);
+        this.cooldownManager = new CooldownManager(this);
+        this.commandResolver = new CommandResolver(this);
+        this.tierManager = new TierManager(this);
+        this.heavyHitters = new HeavyHitters(this);
+        this.countdownDisplay = new CountdownDisplay(this);
+        // Zadanie co tick tylko przy włączonym odliczaniu - reload() je uruchamia albo zatrzymuje
+        if (configManager.isCountdown()) {
+            countdownDisplay.start();
+        }
+        this.auditLog = new AuditLog(this);
+        if (configManager.isAuditLog()) {
+            auditLog.start();
+        }
+    }
+
+    @Override
+    public void onDisable() {
+        getServer().getServicesManager().unregisterAll(this);
+        if (configWatcher != null) {
+            configWatcher.stop();
+        }
+        if (auditLog != null) {
+            auditLog.stop();
+        }
+    }
+
     public static CommandCooldown getInstance() {
         return instance;
     }
@@ -56,11 +120,56 @@ public class CommandCooldown extends JavaPlugin {
         return cooldownManager;
     }
 
+    public CommandResolver getCommandResolver() {
+        return commandResolver;
+    }
+
+    public TierManager getTierManager() {
+        return tierManager;
+    }
+
+    public HeavyHitters getHeavyHitters() {
+        return heavyHitters;
+    }
+
+    public CountdownDisplay getCountdownDisplay() {
+        return countdownDisplay;
+    }
+
+    public AuditLog getAuditLog() {
+        return auditLog;
+    }
+
     public void reloadAll() {
         reloadConfig();
         configManager.reload();
+        tierManager.updateAll();
         messageManager.reload();
+        countdownDisplay.reload();
+        updateWatcher();
+        updateAuditLog();
 
         getLogger().info("CommandCooldown has been reloaded.");
     }
-}
\ No newline at end of file
+
+    // Włącza lub wyłącza obserwowanie plików zgodnie z configiem
+    private void updateWatcher() {
+        if (configManager.isWatchFiles()) {
+            configWatcher.start();
+        } else if (configWatcher.isRunning()) {
+            configWatcher.stop();
+        }
+    }
+
+    /**
+     * Restartuje dziennik blokad, żeby użył aktualnych ustawień z configu.
+     */
+    public void updateAuditLog() {
+        if (auditLog.matchesConfig()) return;
+
+        auditLog.stop();
+        if (configManager.isAuditLog()) {
+            auditLog.start();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package dev.nxms.commandcooldown.api;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+
+/**
+ * Called when a player's command is cancelled because of an active cooldown.
+ * Only created and fired when at least one listener is registered.
+ */
+public class CooldownBlockEvent extends PlayerEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final int handle;
+    private final long remainingMillis;
+    private final boolean silent;
+
+    public CooldownBlockEvent(Player player, int handle, long remainingMillis, boolean silent) {
+        super(player);
+        this.handle = handle;
+        this.remainingMillis = remainingMillis;
+        this.silent = silent;
+    }
+
+    /**
+     * The command handle, or {@link CooldownService#GLOBAL}.
+     */
+    public int getHandle() {
+        return handle;
+    }
+
+    public long getRemainingMillis() {
+        return remainingMillis;
+    }
+
+    /**
+     * Whether the player got no message because they passed the escalation threshold.
+     */
+    public boolean isSilent() {
+        return silent;
+    }
+
+    /**
+     * Whether anyone listens, so the event is only built when needed.
+     */
+    public static boolean hasListeners() {
+        return HANDLERS.getRegisteredListeners().length > 0;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
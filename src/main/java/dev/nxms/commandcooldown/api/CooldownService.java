@@ -0,0 +1,89 @@
+package dev.nxms.commandcooldown.api;
+
+import java.util.UUID;
+
+/**
+ * Read and write access to CommandCooldown's cooldown store for other plugins.
+ * Get it from Bukkit's {@code ServicesManager}:
+ * <pre>{@code
+ * CooldownService cooldowns = Bukkit.getServicesManager().load(CooldownService.class);
+ * int home = cooldowns.getCommandHandle("home");
+ * long remainingMs = cooldowns.getRemainingMillis(player.getUniqueId(), home);
+ * }</pre>
+ *
+ * <p>Commands are identified by integer handles. A handle never changes while the
+ * server is running, even across reloads, so it can be resolved once and cached.
+ * Queries return raw milliseconds and do not allocate, so they are cheap enough to
+ * poll from scoreboards and GUIs. Reads are safe from any thread; writes must happen
+ * on the main thread.
+ */
+public interface CooldownService {
+
+    /**
+     * Handle of the global cooldown (commands without their own cooldown).
+     */
+    int GLOBAL = -1;
+
+    /**
+     * Returned by {@link #getCommandHandle(String)} for commands without their own cooldown.
+     */
+    int UNKNOWN = -2;
+
+    /**
+     * Resolves the handle of a command with its own cooldown.
+     *
+     * Does not allocate and is safe from any thread.
+     *
+     * @param command Command label without "/", case-insensitive
+     * @return The handle, or {@link #UNKNOWN} if the command has no cooldown of its own or is excluded
+     */
+    int getCommandHandle(String command);
+
+    /**
+     * Name of the command behind a handle, or null for {@link #GLOBAL} and unknown handles.
+     */
+    String getCommandName(int handle);
+
+    /**
+     * Cooldown a player gets when using the command now, in seconds, including their tier.
+     * Tiers are only known for online players; offline players get the base cooldown.
+     *
+     * @param handle A command handle or {@link #GLOBAL}
+     */
+    int getCooldownSeconds(UUID player, int handle);
+
+    /**
+     * Remaining cooldown of a player, in milliseconds (0 if none).
+     *
+     * @param handle A command handle or {@link #GLOBAL}
+     */
+    long getRemainingMillis(UUID player, int handle);
+
+    /**
+     * Remaining cooldown of one command for many players.
+     *
+     * @param players Players to query
+     * @param handle  A command handle or {@link #GLOBAL}
+     * @param out     Receives the remaining milliseconds at the same index as the player;
+     *                must be at least as long as {@code players}
+     */
+    void getRemainingMillis(UUID[] players, int handle, long[] out);
+
+    /**
+     * Remaining cooldowns of many commands for one player.
+     *
+     * @param handles Command handles, may include {@link #GLOBAL}
+     * @param out     Receives the remaining milliseconds at the same index as the handle;
+     *                must be at least as long as {@code handles}
+     */
+    void getRemainingMillis(UUID player, int[] handles, long[] out);
+
+    /**
+     * Starts a cooldown of the given length, replacing the current one. Main thread only.
+     *
+     * @param handle   A command handle or {@link #GLOBAL}
+     * @param duration Length in milliseconds; 0 clears the cooldown
+     * @throws IllegalArgumentException if the handle is not {@link #GLOBAL} or a handle returned by this service
+     */
+    void setRemainingMillis(UUID player, int handle, long duration);
+}
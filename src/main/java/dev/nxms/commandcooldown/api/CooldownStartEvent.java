@@ -0,0 +1,50 @@
+package dev.nxms.commandcooldown.api;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+
+/**
+ * Called when a player's command goes through and a cooldown starts.
+ * Only created and fired when at least one listener is registered.
+ */
+public class CooldownStartEvent extends PlayerEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final int handle;
+    private final long durationMillis;
+
+    public CooldownStartEvent(Player player, int handle, long durationMillis) {
+        super(player);
+        this.handle = handle;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * The command handle, or {@link CooldownService#GLOBAL}.
+     */
+    public int getHandle() {
+        return handle;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Whether anyone listens, so the event is only built when needed.
+     */
+    public static boolean hasListeners() {
+        return HANDLERS.getRegisteredListeners().length > 0;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
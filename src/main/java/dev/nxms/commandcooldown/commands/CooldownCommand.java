@@ -2,30 +2,51 @@ package dev.nxms.commandcooldown.commands;
 
 import dev.nxms.commandcooldown.CommandCooldown;
 import dev.nxms.commandcooldown.managers.ConfigManager;
+import dev.nxms.commandcooldown.managers.CooldownManager;
+import dev.nxms.commandcooldown.managers.HeavyHitters;
 import dev.nxms.commandcooldown.managers.MessageManager;
+import dev.nxms.commandcooldown.utils.CooldownSnapshot;
+import dev.nxms.commandcooldown.utils.MessageTemplate;
+import dev.nxms.commandcooldown.utils.PrefixIndex;
+import dev.nxms.commandcooldown.utils.SpaceSaving;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
-
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class CooldownCommand implements CommandExecutor, TabCompleter {
 
     private final CommandCooldown plugin;
     private final ConfigManager config;
     private final MessageManager messages;
+    private final CooldownManager cooldowns;
+
+    // Naraz działa najwyżej jeden eksport (wspólny plik .tmp)
+    private final AtomicBoolean exporting = new AtomicBoolean();
 
     public CooldownCommand(CommandCooldown plugin) {
         this.plugin = plugin;
         this.config = plugin.getConfigManager();
         this.messages = plugin.getMessageManager();
+        this.cooldowns = plugin.getCooldownManager();
     }
 
     @Override
@@ -51,10 +72,22 @@ public class CooldownCommand implements CommandExecutor, TabCompleter {
 
             case "usun", "remove" -> handleRemove(sender, args, label);
 
-            case "lista", "list" -> handleList(sender);
+            case "lista", "list" -> handleList(sender, args, label);
 
             case "przeladuj", "reload" -> handleReload(sender);
 
+            case "resetuj", "reset" -> handleReset(sender, args, label);
+
+            case "sprawdz", "inspect" -> handleInspect(sender, args, label);
+
+            case "eksportuj", "export" -> handleExport(sender, args, label);
+
+            case "importuj", "import" -> handleImport(sender, args, label);
+
+            case "top" -> handleTop(sender, args, label);
+
+            case "pamiec", "memory" -> handleMemory(sender);
+
             default -> messages.send(sender, "invalid-command");
         }
 
@@ -154,33 +187,429 @@ public class CooldownCommand implements CommandExecutor, TabCompleter {
         messages.send(sender, "cooldown-removed", Map.of("command", targetCmd));
     }
 
-    private void handleList(CommandSender sender) {
+    private void handleList(CommandSender sender, String[] args, String label) {
         if (!sender.hasPermission("commandcooldown.list")) {
             messages.send(sender, "no-permission");
             return;
         }
 
-        Map<String, Integer> cooldowns = config.getCommandCooldowns();
+        PrefixIndex index = config.getCommandIndex();
 
-        if (cooldowns.isEmpty()) {
+        if (index.size() == 0) {
             messages.send(sender, "cooldown-list-empty");
             return;
         }
 
-        messages.send(sender, "cooldown-list-header");
+        // /cc list [page] | /cc list <filter> [page]
+        String filter = "";
+        String pageArg = null;
+        if (args.length >= 2) {
+            if (isNumber(args[1])) {
+                pageArg = args[1];
+            } else {
+                filter = args[1];
+                if (args.length >= 3) pageArg = args[2];
+            }
+        }
+
+        int page = 1;
+        if (pageArg != null) {
+            try {
+                page = Integer.parseInt(pageArg);
+            } catch (NumberFormatException e) {
+                page = 0;
+            }
+            if (page < 1) {
+                String cmdPrefix = getCommandPrefix(label);
+                messages.send(sender, "invalid-arguments", Map.of(
+                        "usage", cmdPrefix + " list [page] | " + cmdPrefix + " list <filter> [page]"
+                ));
+                return;
+            }
+        }
+
+        // Zakres komend pasujących do filtra (prefiks) - bez kopiowania
+        int from = index.lowerBound(filter, 0, filter.length());
+        int to = index.upperBound(filter, 0, filter.length());
+        int total = to - from;
+
+        if (total == 0) {
+            messages.send(sender, "cooldown-list-no-match", Map.of("filter", filter));
+            return;
+        }
+
+        int pageSize = config.getListPageSize();
+        int pages = (total + pageSize - 1) / pageSize;
+        page = Math.min(page, pages);
+
+        int start = from + (page - 1) * pageSize;
+        int end = Math.min(to, start + pageSize);
+
+        // Cała strona jako jeden komponent wysłany jedną wiadomością
+        MessageTemplate pageLine = messages.getTemplate(sender, "cooldown-list-page", "page", "pages", "total");
+        MessageTemplate entry = messages.getTemplate(sender, "cooldown-list-entry", "command", "cooldown");
+
+        StringBuilder sb = new StringBuilder(64 + (end - start) * 48);
+        sb.append(messages.get(sender, "cooldown-list-header")).append('\n');
+        pageLine.appendTo(sb, page, pages, total);
+        for (int i = start; i < end; i++) {
+            String cmd = index.get(i);
+            sb.append('\n');
+            entry.appendTo(sb, cmd, config.getCommandCooldown(cmd));
+        }
+        sb.append('\n').append(messages.get(sender, "cooldown-list-footer"));
+
+        messages.sendText(sender, sb.toString());
+    }
 
-        List<String> sorted = new ArrayList<>(cooldowns.keySet());
-        Collections.sort(sorted);
+    private static boolean isNumber(String s) {
+        if (s.isEmpty()) return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (!Character.isDigit(s.charAt(i))) return false;
+        }
+        return true;
+    }
 
-        for (String cmd : sorted) {
-            int cd = cooldowns.get(cmd);
-            messages.send(sender, messages.getRaw("cooldown-list-entry"), Map.of(
-                    "command", cmd,
-                    "cooldown", String.valueOf(cd)
+    private void handleReset(CommandSender sender, String[] args, String label) {
+        if (!sender.hasPermission("commandcooldown.reset")) {
+            messages.send(sender, "no-permission");
+            return;
+        }
+
+        if (args.length < 2) {
+            messages.send(sender, "invalid-arguments", Map.of(
+                    "usage", getCommandPrefix(label) + " reset <player|*> [command]"
             ));
+            return;
+        }
+
+        String targetCmd = args.length >= 3 ? args[2].toLowerCase(Locale.ROOT) : null;
+        int commandId = targetCmd != null ? config.getCommandId(targetCmd) : -1;
+
+        // Komenda bez ID nigdy nie miała cooldownu - nie ma czego czyścić
+        if (targetCmd != null && commandId < 0) {
+            messages.send(sender, "cooldown-not-found", Map.of("command", targetCmd));
+            return;
+        }
+
+        // /cc reset * [command]
+        if (args[1].equals("*")) {
+            if (targetCmd == null) {
+                cooldowns.clearAll();
+                messages.send(sender, "reset-all");
+            } else {
+                cooldowns.clearCommand(commandId);
+                messages.send(sender, "reset-all-command", Map.of("command", targetCmd));
+            }
+            return;
+        }
+
+        // /cc reset <player> [command]
+        OfflinePlayer target = findPlayer(args[1]);
+        if (target == null) {
+            messages.send(sender, "player-not-found", Map.of("player", args[1]));
+            return;
         }
 
-        messages.send(sender, "cooldown-list-footer");
+        String name = target.getName() != null ? target.getName() : args[1];
+        if (targetCmd == null) {
+            cooldowns.clear(target.getUniqueId());
+            messages.send(sender, "reset-player", Map.of("player", name));
+        } else {
+            cooldowns.clear(target.getUniqueId(), commandId);
+            messages.send(sender, "reset-player-command", Map.of("player", name, "command", targetCmd));
+        }
+    }
+
+    private void handleInspect(CommandSender sender, String[] args, String label) {
+        if (!sender.hasPermission("commandcooldown.inspect")) {
+            messages.send(sender, "no-permission");
+            return;
+        }
+
+        if (args.length < 2) {
+            messages.send(sender, "invalid-arguments", Map.of(
+                    "usage", getCommandPrefix(label) + " inspect <player>"
+            ));
+            return;
+        }
+
+        OfflinePlayer target = findPlayer(args[1]);
+        if (target == null) {
+            messages.send(sender, "player-not-found", Map.of("player", args[1]));
+            return;
+        }
+
+        String name = target.getName() != null ? target.getName() : args[1];
+        CooldownManager.PlayerCooldowns state = cooldowns.getState(target.getUniqueId());
+        long now = System.currentTimeMillis();
+
+        // Odczyt prosto z tablic stanu gracza, wynik jako jedna wiadomość
+        StringBuilder sb = new StringBuilder(128);
+        sb.append(messages.get(sender, "inspect-header", Map.of("player", name)));
+
+        String tier = plugin.getTierManager().getProfileName(target.getUniqueId());
+        if (tier != null) {
+            sb.append('\n').append(messages.get(sender, "inspect-tier", Map.of("tier", tier)));
+        }
+
+        if (state != null && state.getStrikes() > 0) {
+            sb.append('\n').append(messages.get(sender, "inspect-escalation", Map.of(
+                    "strikes", String.valueOf(state.getStrikes())
+            )));
+        }
+
+        long globalMs = state != null ? state.getGlobalExpiry() - now : 0;
+        sb.append('\n').append(messages.get(sender, "inspect-global", Map.of(
+                "remaining", String.valueOf(globalMs > 0 ? (globalMs + 999) / 1000 : 0)
+        )));
+
+        int active = 0;
+        if (state != null) {
+            MessageTemplate entry = messages.getTemplate(sender, "inspect-entry", "command", "remaining");
+            int slots = state.getCommandSlots();
+            for (int id = 0; id < slots; id++) {
+                long remainingMs = state.getCommandExpiry(id) - now;
+                if (remainingMs <= 0) continue;
+
+                sb.append('\n');
+                entry.appendTo(sb, config.getCommandName(id), (remainingMs + 999) / 1000);
+                active++;
+            }
+        }
+        if (active == 0) {
+            sb.append('\n').append(messages.get(sender, "inspect-empty"));
+        }
+
+        messages.sendText(sender, sb.toString());
+    }
+
+    private void handleExport(CommandSender sender, String[] args, String label) {
+        if (!sender.hasPermission("commandcooldown.export")) {
+            messages.send(sender, "no-permission");
+            return;
+        }
+
+        File file = getSnapshotFile(args);
+        if (file == null) {
+            messages.send(sender, "invalid-arguments", Map.of(
+                    "usage", getCommandPrefix(label) + " export [name]"
+            ));
+            return;
+        }
+
+        if (!exporting.compareAndSet(false, true)) {
+            messages.send(sender, "export-running");
+            return;
+        }
+
+        // Zrzut na głównym wątku, kodowanie i zapis w tle
+        CooldownSnapshot snapshot = cooldowns.snapshot();
+        long started = System.currentTimeMillis();
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                File parent = file.getParentFile();
+                if (!parent.exists() && !parent.mkdirs()) {
+                    throw new IOException("Could not create " + parent);
+                }
+
+                File tmp = new File(parent, file.getName() + ".tmp");
+                try (OutputStream out = new FileOutputStream(tmp)) {
+                    snapshot.writeTo(out);
+                }
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+                long took = System.currentTimeMillis() - started;
+                plugin.getServer().getScheduler().runTask(plugin, () -> messages.send(sender, "export-success", Map.of(
+                        "file", file.getName(),
+                        "players", String.valueOf(snapshot.getEntries().length),
+                        "size", String.valueOf(file.length() / 1024),
+                        "time", String.valueOf(took)
+                )));
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not export cooldowns to " + file.getName() + ": " + e.getMessage());
+                plugin.getServer().getScheduler().runTask(plugin, () -> messages.send(sender, "export-error", Map.of(
+                        "file", file.getName()
+                )));
+            } finally {
+                exporting.set(false);
+            }
+        });
+    }
+
+    private void handleImport(CommandSender sender, String[] args, String label) {
+        if (!sender.hasPermission("commandcooldown.import")) {
+            messages.send(sender, "no-permission");
+            return;
+        }
+
+        File file = getSnapshotFile(args);
+        if (file == null) {
+            messages.send(sender, "invalid-arguments", Map.of(
+                    "usage", getCommandPrefix(label) + " import [name]"
+            ));
+            return;
+        }
+
+        if (!file.isFile()) {
+            messages.send(sender, "import-not-found", Map.of("file", file.getName()));
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+
+        // Odczyt i budowa stanu graczy w tle, podmiana mapy stanu na głównym wątku
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            CooldownManager.LoadedSnapshot snapshot;
+            try (InputStream in = new FileInputStream(file)) {
+                snapshot = cooldowns.read(in);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not import cooldowns from " + file.getName() + ": " + e.getMessage());
+                plugin.getServer().getScheduler().runTask(plugin, () -> messages.send(sender, "import-error", Map.of(
+                        "file", file.getName()
+                )));
+                return;
+            }
+
+            if (snapshot.getSkippedCommands() > 0) {
+                plugin.getLogger().info("Import of " + file.getName() + " skipped " + snapshot.getSkippedCommands()
+                        + " command(s) without a cooldown in config.yml.");
+            }
+
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                int loaded = cooldowns.load(snapshot);
+                messages.send(sender, "import-success", Map.of(
+                        "file", file.getName(),
+                        "players", String.valueOf(loaded),
+                        "time", String.valueOf(System.currentTimeMillis() - started)
+                ));
+            });
+        });
+    }
+
+    // Liczba pozycji w /cc top
+    private static final int TOP_ENTRIES = 10;
+
+    private void handleTop(CommandSender sender, String[] args, String label) {
+        if (!sender.hasPermission("commandcooldown.top")) {
+            messages.send(sender, "no-permission");
+            return;
+        }
+
+        String type = args.length >= 2 ? args[1].toLowerCase(Locale.ROOT) : "players";
+        boolean players;
+        switch (type) {
+            case "players", "gracze" -> players = true;
+            case "commands", "komendy" -> players = false;
+            default -> {
+                messages.send(sender, "invalid-arguments", Map.of(
+                        "usage", getCommandPrefix(label) + " top [players|commands]"
+                ));
+                return;
+            }
+        }
+
+        if (!config.isTop()) {
+            messages.send(sender, "top-disabled");
+            return;
+        }
+
+        HeavyHitters heavyHitters = plugin.getHeavyHitters();
+        SpaceSaving sketch = players ? heavyHitters.getPlayers() : heavyHitters.getCommands();
+        int[] slots = sketch.top(TOP_ENTRIES);
+
+        StringBuilder sb = new StringBuilder(256);
+        sb.append(messages.get(sender, players ? "top-header-players" : "top-header-commands", Map.of(
+                "minutes", String.valueOf(Math.max(1, config.getTopHalfLifeSeconds() / 60))
+        )));
+
+        if (slots.length == 0) {
+            sb.append('\n').append(messages.get(sender, "top-empty"));
+        } else {
+            MessageTemplate entry = messages.getTemplate(sender, "top-entry", "rank", "name", "count", "error");
+            for (int i = 0; i < slots.length; i++) {
+                int slot = slots[i];
+                String name = players
+                        ? playerName(new UUID(sketch.getKeyHigh(slot), sketch.getKeyLow(slot)))
+                        : commandName((int) sketch.getKeyLow(slot));
+
+                sb.append('\n');
+                entry.appendTo(sb, i + 1, name, sketch.getCount(slot), sketch.getError(slot));
+            }
+        }
+
+        messages.sendText(sender, sb.toString());
+    }
+
+    private String playerName(UUID uuid) {
+        String name = plugin.getServer().getOfflinePlayer(uuid).getName();
+        return name != null ? name : uuid.toString();
+    }
+
+    private String commandName(int rule) {
+        return rule == ConfigManager.RULE_GLOBAL ? "*" : "/" + config.getCommandName(rule);
+    }
+
+    private void handleMemory(CommandSender sender) {
+        if (!sender.hasPermission("commandcooldown.memory")) {
+            messages.send(sender, "no-permission");
+            return;
+        }
+
+        CooldownManager.Footprint footprint = cooldowns.getFootprint();
+        long tiers = plugin.getTierManager().estimateBytes();
+        long languages = messages.estimatePlayerBytes();
+        long top = plugin.getHeavyHitters().estimateBytes();
+        long labels = plugin.getCommandResolver().estimateBytes();
+        long cap = config.getMemoryCapBytes();
+
+        messages.send(sender, "memory-header");
+        messages.send(sender, "memory-players", Map.of(
+                "size", formatBytes(footprint.playerBytes()),
+                "count", String.valueOf(footprint.players())
+        ));
+        messages.send(sender, "memory-commands", Map.of("size", formatBytes(footprint.commandBytes())));
+        messages.send(sender, "memory-dedupe", Map.of("size", formatBytes(footprint.dedupeBytes())));
+        messages.send(sender, "memory-blocks", Map.of(
+                "size", formatBytes(footprint.blockBytes()),
+                "count", String.valueOf(footprint.blocks())
+        ));
+        messages.send(sender, "memory-total", Map.of(
+                "size", formatBytes(footprint.total()),
+                "cap", cap > 0 ? formatBytes(cap) : "-",
+                "percent", cap > 0 ? String.valueOf(footprint.cappedBytes() * 100 / cap) : "-",
+                "policy", config.isEvictGlobalFirst() ? "global-first" : "soonest-expiry"
+        ));
+        messages.send(sender, "memory-evicted", Map.of("count", String.valueOf(cooldowns.getEvicted())));
+        messages.send(sender, "memory-other", Map.of(
+                "tiers", formatBytes(tiers),
+                "languages", formatBytes(languages),
+                "top", formatBytes(top),
+                "labels", formatBytes(labels)
+        ));
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    // Plik zrzutu w folderze snapshots/ - nazwa tylko z liter, cyfr, '-' i '_'
+    private File getSnapshotFile(String[] args) {
+        String name = args.length >= 2 ? args[1] : "cooldowns";
+        if (name.isEmpty() || !name.matches("[A-Za-z0-9_-]+")) {
+            return null;
+        }
+        return new File(new File(plugin.getDataFolder(), "snapshots"), name + ".ccs");
+    }
+
+    // Gracz online o dokładnej nazwie, a jeśli go nie ma - znany serwerowi gracz offline
+    private OfflinePlayer findPlayer(String name) {
+        Player online = plugin.getServer().getPlayerExact(name);
+        if (online != null) return online;
+        return plugin.getServer().getOfflinePlayerIfCached(name);
     }
 
     private void handleReload(CommandSender sender) {
@@ -200,8 +629,8 @@ public class CooldownCommand implements CommandExecutor, TabCompleter {
     private void sendHelp(CommandSender sender) {
         messages.send(sender, "help-header");
 
-        for (String line : messages.getList("help-commands")) {
-            messages.send(sender, line);
+        for (String line : messages.getList(sender, "help-commands")) {
+            messages.sendText(sender, line);
         }
 
         messages.send(sender, "help-footer");
@@ -226,96 +655,237 @@ public class CooldownCommand implements CommandExecutor, TabCompleter {
     }
 
     private boolean isPolishAlias(String alias) {
-        String lower = alias.toLowerCase(Locale.ROOT);
-        return lower.equals("ok") || lower.equals("opoznieniekomend");
+        return isPolishAlias(alias, 0, alias.length());
+    }
+
+    private static boolean isPolishAlias(CharSequence text, int start, int end) {
+        return regionEquals(text, start, end, "ok") || regionEquals(text, start, end, "opoznieniekomend");
+    }
+
+    // =========== TAB COMPLETE ===========
+
+    private static final int SUB_OTHER = 0;
+    private static final int SUB_SET = 1;
+    private static final int SUB_REMOVE = 2;
+    private static final int SUB_LIST = 3;
+    private static final int SUB_RESET = 4;
+    private static final int SUB_INSPECT = 5;
+    private static final int SUB_TOP = 6;
+
+    // Podkomendy posortowane alfabetycznie: {nazwa, permisja} (null = bez permisji)
+    private static final String[][] SUBCOMMANDS_EN = {
+            {"export", "commandcooldown.export"},
+            {"help", null},
+            {"import", "commandcooldown.import"},
+            {"info", "commandcooldown.info"},
+            {"inspect", "commandcooldown.inspect"},
+            {"list", "commandcooldown.list"},
+            {"memory", "commandcooldown.memory"},
+            {"reload", "commandcooldown.reload"},
+            {"remove", "commandcooldown.remove"},
+            {"reset", "commandcooldown.reset"},
+            {"set", "commandcooldown.set"},
+            {"top", "commandcooldown.top"}
+    };
+    private static final String[][] SUBCOMMANDS_PL = {
+            {"eksportuj", "commandcooldown.export"},
+            {"importuj", "commandcooldown.import"},
+            {"info", "commandcooldown.info"},
+            {"lista", "commandcooldown.list"},
+            {"pamiec", "commandcooldown.memory"},
+            {"pomoc", null},
+            {"przeladuj", "commandcooldown.reload"},
+            {"resetuj", "commandcooldown.reset"},
+            {"sprawdz", "commandcooldown.inspect"},
+            {"top", "commandcooldown.top"},
+            {"usun", "commandcooldown.remove"},
+            {"ustaw", "commandcooldown.set"}
+    };
+
+    // Sugestie sekund, posortowane leksykograficznie (przed nazwami komend)
+    private static final String[] SECONDS_SUGGESTIONS = {"0", "1", "10", "3", "30", "5", "60"};
+    private static final String[] TOP_TYPES_EN = {"commands", "players"};
+    private static final String[] TOP_TYPES_PL = {"gracze", "komendy"};
+    private static final String[] COMMAND_SECONDS_SUGGESTIONS = {"1", "3", "5", "10", "30", "60", "120"};
+
+    /**
+     * Sprawdza, czy label (bez "/") należy do tej komendy, także w formie "commandcooldown:cc".
+     */
+    public static boolean isOwnLabel(CharSequence text, int start, int end) {
+        int colon = indexOf(text, ':', start, end);
+        if (colon >= 0) {
+            if (!regionEquals(text, start, colon, "commandcooldown")) return false;
+            start = colon + 1;
+        }
+        return regionEquals(text, start, end, "commandcooldown") || regionEquals(text, start, end, "cc")
+                || isPolishAlias(text, start, end);
+    }
+
+    /**
+     * Podpowiedzi dla surowej linii komendy, bez dzielenia jej na argumenty.
+     * {@code [labelStart, labelEnd)} to label bez "/", po nim spacja i argumenty.
+     * Wywoływane z AsyncTabCompleteEvent, więc korzysta tylko z niezmiennych snapshotów configu.
+     */
+    public List<String> complete(CommandSender sender, CharSequence line, int labelStart, int labelEnd) {
+        int colon = indexOf(line, ':', labelStart, labelEnd);
+        boolean pl = isPolishAlias(line, colon >= 0 ? colon + 1 : labelStart, labelEnd);
+
+        int subStart = labelEnd + 1;
+        int subEnd = indexOf(line, ' ', subStart, line.length());
+        if (subEnd < 0) subEnd = line.length();
+
+        int argIndex = 0;
+        int tokenStart = subStart;
+        for (int i = subStart; i < line.length(); i++) {
+            if (line.charAt(i) == ' ') {
+                argIndex++;
+                tokenStart = i + 1;
+            }
+        }
+
+        return complete(sender, pl, argIndex, subcommandId(line, subStart, subEnd), line, tokenStart, line.length());
     }
 
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (args.length == 0) {
+            return Collections.emptyList();
+        }
+        String token = args[args.length - 1];
+        return complete(sender, isPolishAlias(alias), args.length - 1,
+                subcommandId(args[0], 0, args[0].length()), token, 0, token.length());
+    }
+
+    private List<String> complete(CommandSender sender, boolean pl, int argIndex, int sub,
+                                  CharSequence token, int tokenStart, int tokenEnd) {
 
         // baza: nie pokazuj nic osobom bez głównej permisji
         if (!sender.hasPermission("commandcooldown.command")) {
             return Collections.emptyList();
         }
 
-        // język tabów zależny od aliasu (tak jak chciałeś wcześniej)
-        boolean pl = isPolishAlias(alias);
+        if (argIndex == 0) {
+            List<String> result = new ArrayList<>();
+            // język tabów zależny od aliasu
+            for (String[] entry : pl ? SUBCOMMANDS_PL : SUBCOMMANDS_EN) {
+                if (startsWith(entry[0], token, tokenStart, tokenEnd)
+                        && (entry[1] == null || sender.hasPermission(entry[1]))) {
+                    result.add(entry[0]);
+                }
+            }
+            return result;
+        }
 
-        if (args.length == 1) {
-            List<String> subs = new ArrayList<>();
+        if (argIndex == 1 && (sub == SUB_REMOVE || sub == SUB_LIST)) {
+            if (!sender.hasPermission(sub == SUB_REMOVE ? "commandcooldown.remove" : "commandcooldown.list")) {
+                return Collections.emptyList();
+            }
 
-            // pomoc/help – zwykle bez osobnej permisji (jeśli chcesz, możesz też wymagać "commandcooldown.info" itp.)
-            subs.add(pl ? "pomoc" : "help");
+            List<String> result = new ArrayList<>();
+            config.getCommandIndex().collect(token, tokenStart, tokenEnd, result);
+            return result;
+        }
 
-            if (sender.hasPermission("commandcooldown.info")) {
-                subs.add("info"); // to samo PL/EN
+        if (argIndex == 1 && sub == SUB_SET) {
+            if (!sender.hasPermission("commandcooldown.set")) {
+                return Collections.emptyList();
             }
-            if (sender.hasPermission("commandcooldown.set")) {
-                subs.add(pl ? "ustaw" : "set");
+
+            List<String> result = new ArrayList<>();
+            for (String s : SECONDS_SUGGESTIONS) {
+                if (startsWith(s, token, tokenStart, tokenEnd)) result.add(s);
             }
-            if (sender.hasPermission("commandcooldown.remove")) {
-                subs.add(pl ? "usun" : "remove");
+            config.getCommandIndex().collect(token, tokenStart, tokenEnd, result);
+            return result;
+        }
+
+        if (argIndex == 1 && (sub == SUB_RESET || sub == SUB_INSPECT)) {
+            if (!sender.hasPermission(sub == SUB_RESET ? "commandcooldown.reset" : "commandcooldown.inspect")) {
+                return Collections.emptyList();
             }
-            if (sender.hasPermission("commandcooldown.list")) {
-                subs.add(pl ? "lista" : "list");
+
+            List<String> result = new ArrayList<>();
+            if (sub == SUB_RESET && startsWith("*", token, tokenStart, tokenEnd)) result.add("*");
+            for (Player online : plugin.getServer().getOnlinePlayers()) {
+                if (startsWithIgnoreCase(online.getName(), token, tokenStart, tokenEnd)) result.add(online.getName());
             }
-            if (sender.hasPermission("commandcooldown.reload")) {
-                subs.add(pl ? "przeladuj" : "reload");
+            return result;
+        }
+
+        if (argIndex == 1 && sub == SUB_TOP) {
+            if (!sender.hasPermission("commandcooldown.top")) {
+                return Collections.emptyList();
             }
 
-            String token = args[0].toLowerCase(Locale.ROOT);
-            return subs.stream()
-                    .filter(s -> s.startsWith(token))
-                    .distinct()
-                    .sorted()
-                    .collect(Collectors.toList());
+            List<String> result = new ArrayList<>();
+            for (String s : pl ? TOP_TYPES_PL : TOP_TYPES_EN) {
+                if (startsWith(s, token, tokenStart, tokenEnd)) result.add(s);
+            }
+            return result;
         }
 
-        String sub = args[0].toLowerCase(Locale.ROOT);
-
-        if (args.length == 2 && (sub.equals("usun") || sub.equals("remove"))) {
-            if (!sender.hasPermission("commandcooldown.remove")) {
+        if (argIndex == 2 && sub == SUB_RESET) {
+            if (!sender.hasPermission("commandcooldown.reset")) {
                 return Collections.emptyList();
             }
 
-            String token = args[1].toLowerCase(Locale.ROOT);
-            return config.getCommandCooldowns().keySet().stream()
-                    .filter(s -> s.startsWith(token))
-                    .sorted()
-                    .collect(Collectors.toList());
+            List<String> result = new ArrayList<>();
+            config.getCommandIndex().collect(token, tokenStart, tokenEnd, result);
+            return result;
         }
 
-        if (args.length == 2 && (sub.equals("ustaw") || sub.equals("set"))) {
+        if (argIndex == 2 && sub == SUB_SET) {
             if (!sender.hasPermission("commandcooldown.set")) {
                 return Collections.emptyList();
             }
 
-            String token = args[1].toLowerCase(Locale.ROOT);
+            List<String> result = new ArrayList<>();
+            for (String s : COMMAND_SECONDS_SUGGESTIONS) {
+                if (startsWith(s, token, tokenStart, tokenEnd)) result.add(s);
+            }
+            return result;
+        }
 
-            List<String> suggestions = new ArrayList<>(Arrays.asList("0", "1", "3", "5", "10", "30", "60"));
-            suggestions.addAll(config.getCommandCooldowns().keySet());
+        return Collections.emptyList();
+    }
 
-            return suggestions.stream()
-                    .map(String::toLowerCase)
-                    .filter(s -> s.startsWith(token))
-                    .distinct()
-                    .sorted()
-                    .collect(Collectors.toList());
-        }
+    private static int subcommandId(CharSequence text, int start, int end) {
+        if (regionEquals(text, start, end, "set") || regionEquals(text, start, end, "ustaw")) return SUB_SET;
+        if (regionEquals(text, start, end, "remove") || regionEquals(text, start, end, "usun")) return SUB_REMOVE;
+        if (regionEquals(text, start, end, "list") || regionEquals(text, start, end, "lista")) return SUB_LIST;
+        if (regionEquals(text, start, end, "reset") || regionEquals(text, start, end, "resetuj")) return SUB_RESET;
+        if (regionEquals(text, start, end, "inspect") || regionEquals(text, start, end, "sprawdz")) return SUB_INSPECT;
+        if (regionEquals(text, start, end, "top")) return SUB_TOP;
+        return SUB_OTHER;
+    }
 
-        if (args.length == 3 && (sub.equals("ustaw") || sub.equals("set"))) {
-            if (!sender.hasPermission("commandcooldown.set")) {
-                return Collections.emptyList();
-            }
+    private static boolean regionEquals(CharSequence text, int start, int end, String value) {
+        return end - start == value.length() && startsWith(value, text, start, end);
+    }
 
-            String token = args[2].toLowerCase(Locale.ROOT);
+    // Czy value zaczyna się od text[start, end) (bez rozróżniania wielkości liter)
+    private static boolean startsWith(String value, CharSequence text, int start, int end) {
+        int len = end - start;
+        if (len > value.length()) return false;
+        for (int i = 0; i < len; i++) {
+            if (Character.toLowerCase(text.charAt(start + i)) != value.charAt(i)) return false;
+        }
+        return true;
+    }
 
-            List<String> suggestions = Arrays.asList("1", "3", "5", "10", "30", "60", "120");
-            return suggestions.stream()
-                    .filter(s -> s.startsWith(token))
-                    .collect(Collectors.toList());
+    private static boolean startsWithIgnoreCase(String value, CharSequence text, int start, int end) {
+        int len = end - start;
+        if (len > value.length()) return false;
+        for (int i = 0; i < len; i++) {
+            if (Character.toLowerCase(text.charAt(start + i)) != Character.toLowerCase(value.charAt(i))) return false;
         }
+        return true;
+    }
 
-        return Collections.emptyList();
+    private static int indexOf(CharSequence text, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == c) return i;
+        }
+        return -1;
     }
-}
\ No newline at end of file
+}
@@ -1,35 +1,58 @@
 package dev.nxms.commandcooldown.listeners;
 
 import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.api.CooldownBlockEvent;
+import dev.nxms.commandcooldown.api.CooldownStartEvent;
+import dev.nxms.commandcooldown.managers.AuditLog;
+import dev.nxms.commandcooldown.managers.CommandResolver;
 import dev.nxms.commandcooldown.managers.ConfigManager;
 import dev.nxms.commandcooldown.managers.CooldownManager;
+import dev.nxms.commandcooldown.managers.CountdownDisplay;
+import dev.nxms.commandcooldown.managers.HeavyHitters;
 import dev.nxms.commandcooldown.managers.MessageManager;
+import dev.nxms.commandcooldown.utils.LongMap;
+import dev.nxms.commandcooldown.utils.MessageTemplate;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 
-import java.util.List;
-import java.util.Locale;
+import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.UUID;
 
 public class CommandListener implements Listener {
 
     private final ConfigManager config;
+    private final CommandResolver resolver;
     private final CooldownManager cooldowns;
     private final MessageManager messages;
+    private final AuditLog audit;
+    private final HeavyHitters heavyHitters;
+    private final CountdownDisplay countdown;
 
-    // Komendy pluginu - zawsze wykluczone
-    private static final Set<String> PLUGIN_COMMANDS = Set.of(
-            "commandcooldown", "opoznieniekomend", "ok", "cc"
-    );
+    // Nazwy placeholderów wiadomości o blokadzie (stałe tablice - bez alokacji varargs)
+    private static final String[] GLOBAL_PLACEHOLDERS = {"remaining"};
+    private static final String[] COMMAND_PLACEHOLDERS = {"remaining", "command"};
+
+    // Limity cache komponentów - po przekroczeniu cache jest czyszczony
+    private static final int MAX_TEMPLATES = 64;
+    private static final int MAX_CACHED = 4096;
+
+    // Szablon wiadomości -> (reguła << 32 | sekundy) -> komponent. Szablon zmienia się razem z wpisem
+    // w pliku wiadomości, więc cache nie wymaga czyszczenia po przeładowaniu
+    private final Map<MessageTemplate, LongMap<Component>> components = new IdentityHashMap<>();
 
     public CommandListener(CommandCooldown plugin) {
         this.config = plugin.getConfigManager();
+        this.resolver = plugin.getCommandResolver();
         this.cooldowns = plugin.getCooldownManager();
         this.messages = plugin.getMessageManager();
+        this.audit = plugin.getAuditLog();
+        this.heavyHitters = plugin.getHeavyHitters();
+        this.countdown = plugin.getCountdownDisplay();
     }
 
     @EventHandler(priority = EventPriority.LOWEST)
@@ -43,47 +66,77 @@ public class CommandListener implements Listener {
         String msg = event.getMessage();
         if (msg.length() <= 1 || msg.charAt(0) != '/') return;
 
-        String full = msg.substring(1);
-        String cmd = full.split(" ")[0].toLowerCase(Locale.ROOT);
+        // Ta sama komenda z tymi samymi argumentami w krótkim czasie - odrzucona przed dopasowaniem reguł
+        UUID uuid = player.getUniqueId();
+        if (config.isDedupe() && cooldowns.isDuplicate(uuid, msg)) {
+            event.setCancelled(true);
+            return;
+        }
 
-        // Zawsze nie blokuj komend pluginu
-        if (PLUGIN_COMMANDS.contains(cmd)) return;
+        // Label bez substringów - reguła (komenda z cooldownem, wykluczenie, nieznana, globalny)
+        // jednym wyszukaniem; aliasy i przestrzenie nazw trafiają w regułę swojej komendy
+        int labelEnd = msg.indexOf(' ', 1);
+        if (labelEnd < 0) labelEnd = msg.length();
 
-        // Wykluczenia z configu
-        List<String> excluded = config.getExcludedCommands();
-        if (excluded.contains(cmd)) return;
+        int rule = resolver.resolve(msg, 1, labelEnd);
+        if (rule == ConfigManager.RULE_EXCLUDED || rule == ConfigManager.RULE_UNKNOWN) return;
 
-        // Sprawdź czy komenda ma indywidualny cooldown
-        if (config.hasCommandCooldown(cmd)) {
-            int cdSeconds = config.getCommandCooldown(cmd);
+        long remainingMs = cooldowns.tryAcquire(uuid, rule);
+        if (remainingMs == 0) {
+            // Zdarzenia API tylko, gdy ktoś ich słucha - bez listenerów nic nie jest tworzone
+            boolean startEvent = CooldownStartEvent.hasListeners();
+            if (startEvent || config.isCountdown()) {
+                int seconds = cooldowns.getCooldownSeconds(uuid, rule);
+                if (seconds <= 0) return;
 
-            if (cooldowns.isOnCommandCooldown(player, cmd)) {
-                event.setCancelled(true);
-                long remaining = cooldowns.getCommandRemainingSeconds(player, cmd);
-                messages.send(player, "cooldown-active-command", Map.of(
-                        "remaining", String.valueOf(remaining),
-                        "command", cmd
-                ));
-                return;
+                countdown.show(player, rule, seconds * 1000L);
+                if (startEvent) new CooldownStartEvent(player, rule, seconds * 1000L).callEvent();
             }
-
-            cooldowns.applyCommandCooldown(player, cmd, cdSeconds);
             return;
         }
 
-        // Globalny cooldown
-        int globalCd = config.getCooldownSeconds();
-        if (globalCd <= 0) return;
+        event.setCancelled(true);
+        boolean silent = remainingMs < 0;
+        if (silent) remainingMs = -remainingMs;
 
-        if (cooldowns.isOnGlobalCooldown(player)) {
-            event.setCancelled(true);
-            long remaining = cooldowns.getGlobalRemainingSeconds(player);
-            messages.send(player, "cooldown-active", Map.of(
-                    "remaining", String.valueOf(remaining)
-            ));
-            return;
+        audit.record(uuid, rule, remainingMs);
+        heavyHitters.record(uuid, rule);
+        countdown.show(player, rule, remainingMs);
+        if (CooldownBlockEvent.hasListeners()) {
+            new CooldownBlockEvent(player, rule, remainingMs, silent).callEvent();
         }
 
-        cooldowns.applyGlobalCooldown(player);
+        // Gracz przekroczył próg eskalacji - blokada bez budowania i wysyłania wiadomości
+        if (silent) return;
+        long remaining = (remainingMs + 999) / 1000;
+
+        // Gotowy szablon zamiast mapy placeholderów, a komponent z cache - gracz spamujący komendą
+        // dostaje ten sam obiekt, dopóki nie zmieni się pozostała liczba sekund
+        MessageTemplate template = rule == ConfigManager.RULE_GLOBAL
+                ? messages.getTemplate(player, "cooldown-active", GLOBAL_PLACEHOLDERS)
+                : messages.getTemplate(player, "cooldown-active-command", COMMAND_PLACEHOLDERS);
+        player.sendMessage(component(template, rule, remaining));
+    }
+
+    private Component component(MessageTemplate template, int rule, long seconds) {
+        LongMap<Component> cache = components.get(template);
+        if (cache == null) {
+            if (components.size() >= MAX_TEMPLATES) components.clear();
+            cache = new LongMap<>(64);
+            components.put(template, cache);
+        }
+
+        long key = ((long) rule << 32) | seconds;
+        Component text = cache.get(key);
+        if (text != null) return text;
+
+        if (cache.size() >= MAX_CACHED) cache.clear();
+
+        String rendered = rule == ConfigManager.RULE_GLOBAL
+                ? template.render(seconds)
+                : template.render(seconds, config.getCommandName(rule));
+        text = messages.toComponent(rendered);
+        cache.put(key, text);
+        return text;
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package dev.nxms.commandcooldown.listeners;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.managers.CommandResolver;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.event.server.ServerLoadEvent;
+
+/**
+ * Czyści cache labeli komend, gdy zmieniają się zarejestrowane komendy serwera.
+ */
+public class CommandMapListener implements Listener {
+
+    private final CommandResolver resolver;
+
+    public CommandMapListener(CommandCooldown plugin) {
+        this.resolver = plugin.getCommandResolver();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServerLoad(ServerLoadEvent event) {
+        resolver.invalidate();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent event) {
+        resolver.invalidate();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        resolver.invalidate();
+    }
+}
@@ -0,0 +1,59 @@
+package dev.nxms.commandcooldown.listeners;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.managers.CountdownDisplay;
+import dev.nxms.commandcooldown.managers.MessageManager;
+import dev.nxms.commandcooldown.managers.TierManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Utrzymuje dane gracza liczone raz przy wejściu, zamiast przy każdej komendzie.
+ */
+public class PlayerListener implements Listener {
+
+    private final MessageManager messages;
+    private final TierManager tiers;
+    private final CountdownDisplay countdown;
+
+    public PlayerListener(CommandCooldown plugin) {
+        this.messages = plugin.getMessageManager();
+        this.tiers = plugin.getTierManager();
+        this.countdown = plugin.getCountdownDisplay();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        messages.updatePlayerLocale(event.getPlayer());
+        tiers.update(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        tiers.update(event.getPlayer());
+    }
+
+    // Pluginy permisji po przeliczeniu uprawnień wywołują Player#updateCommands, co wysyła to zdarzenie
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCommandsSent(PlayerCommandSendEvent event) {
+        tiers.update(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLocaleChange(PlayerLocaleChangeEvent event) {
+        messages.updatePlayerLocale(event.getPlayer().getUniqueId(), event.getLocale());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        messages.removePlayer(event.getPlayer().getUniqueId());
+        tiers.remove(event.getPlayer().getUniqueId());
+        countdown.remove(event.getPlayer().getUniqueId());
+    }
+}
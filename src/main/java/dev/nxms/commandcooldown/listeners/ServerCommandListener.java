@@ -0,0 +1,72 @@
+package dev.nxms.commandcooldown.listeners;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.managers.CommandResolver;
+import dev.nxms.commandcooldown.managers.ConfigManager;
+import dev.nxms.commandcooldown.managers.CooldownManager;
+import org.bukkit.block.Block;
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.minecart.CommandMinecart;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.ServerCommandEvent;
+
+/**
+ * Ogranicza komendy bloków poleceń, wagoników z blokiem poleceń i konsoli tymi samymi
+ * regułami co komendy graczy, bez eskalacji. Blokada jest cicha - nie ma komu wysłać wiadomości.
+ */
+public class ServerCommandListener implements Listener {
+
+    private final ConfigManager config;
+    private final CommandResolver resolver;
+    private final CooldownManager cooldowns;
+
+    public ServerCommandListener(CommandCooldown plugin) {
+        this.config = plugin.getConfigManager();
+        this.resolver = plugin.getCommandResolver();
+        this.cooldowns = plugin.getCooldownManager();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onServerCommand(ServerCommandEvent event) {
+        if (event.isCancelled()) return;
+        if (!config.isEnabled()) return;
+
+        CommandSender sender = event.getSender();
+        boolean commandBlock = sender instanceof BlockCommandSender;
+        boolean minecart = sender instanceof CommandMinecart;
+        boolean console = sender instanceof ConsoleCommandSender;
+        if (!(commandBlock && config.isThrottleCommandBlocks())
+                && !(minecart && config.isThrottleMinecarts())
+                && !(console && config.isThrottleConsole())) return;
+
+        // Bloki poleceń mogą podawać komendę z "/" lub bez
+        String cmd = event.getCommand();
+        int labelStart = cmd.startsWith("/") ? 1 : 0;
+        if (cmd.length() <= labelStart) return;
+
+        int labelEnd = cmd.indexOf(' ', labelStart);
+        if (labelEnd < 0) labelEnd = cmd.length();
+
+        int rule = resolver.resolve(cmd, labelStart, labelEnd);
+        if (rule == ConfigManager.RULE_EXCLUDED || rule == ConfigManager.RULE_UNKNOWN) return;
+
+        long remainingMs;
+        if (commandBlock) {
+            Block block = ((BlockCommandSender) sender).getBlock();
+            remainingMs = cooldowns.tryAcquireBlock(block.getWorld().getUID(),
+                    block.getX(), block.getY(), block.getZ(), rule);
+        } else if (minecart) {
+            remainingMs = cooldowns.tryAcquireMinecart(((CommandMinecart) sender).getUniqueId(), rule);
+        } else {
+            remainingMs = cooldowns.tryAcquireConsole(rule);
+        }
+
+        if (remainingMs != 0) {
+            event.setCancelled(true);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.nxms.commandcooldown.listeners;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import dev.nxms.commandcooldown.commands.CooldownCommand;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+
+/**
+ * Obsługuje podpowiedzi dla /cc poza głównym wątkiem (AsyncTabCompleteEvent).
+ */
+public class TabCompleteListener implements Listener {
+
+    private final CooldownCommand command;
+
+    public TabCompleteListener(CooldownCommand command) {
+        this.command = command;
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+        if (event.isHandled() || !event.isCommand()) return;
+
+        String buffer = event.getBuffer();
+        int labelStart = !buffer.isEmpty() && buffer.charAt(0) == '/' ? 1 : 0;
+        int labelEnd = buffer.indexOf(' ', labelStart);
+
+        // Podpowiedzi samego labela zostawiamy serwerowi
+        if (labelEnd < 0) return;
+        if (!CooldownCommand.isOwnLabel(buffer, labelStart, labelEnd)) return;
+
+        event.setCompletions(command.complete(event.getSender(), buffer, labelStart, labelEnd));
+        event.setHandled(true);
+    }
+}
@@ -0,0 +1,289 @@
+package dev.nxms.commandcooldown.managers;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Dziennik zablokowanych komend do analizy nadużyć.
+ *
+ * <p>Główny wątek (jedyny producent) wpisuje prymitywne rekordy do bufora cyklicznego
+ * bez blokad i alokacji. Wątek w tle zbiera je paczkami i zapisuje do plików
+ * w folderze audit/, które po przekroczeniu rozmiaru są kompresowane i rotowane.
+ * Gdy bufor jest pełny, rekord jest odrzucany i liczony.
+ */
+public class AuditLog {
+
+    // ID komendy w rekordzie dla globalnego cooldownu
+    public static final int GLOBAL = ConfigManager.RULE_GLOBAL;
+
+    private static final long DRAIN_INTERVAL_NANOS = 250_000_000L;
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter FILE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.systemDefault());
+    private static final int NEWLINE_BYTES = System.lineSeparator().length();
+
+    private final CommandCooldown plugin;
+    private final ConfigManager config;
+
+    // Bufor cykliczny - tablice równoległe, rozmiar to potęga dwójki
+    private long[] times;
+    private long[] uuidMost;
+    private long[] uuidLeast;
+    private int[] commandIds;
+    private long[] remaining;
+    private int mask;
+
+    // tail pisze tylko producent, head tylko konsument
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    // Stan wątku zapisującego
+    private File folder;
+    private File current;
+    private BufferedWriter writer;
+    private long written;
+    private long maxFileBytes;
+    private int maxFiles;
+
+    // Rozmiar bufora z configu, z którym dziennik został uruchomiony
+    private int configuredBufferSize;
+
+    public AuditLog(CommandCooldown plugin) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Czy działający dziennik używa aktualnych ustawień z configu.
+     */
+    public boolean matchesConfig() {
+        return running == config.isAuditLog() && (!running
+                || (configuredBufferSize == config.getAuditBufferSize()
+                && maxFileBytes == config.getAuditMaxFileSizeMb() * 1024L * 1024L
+                && maxFiles == config.getAuditMaxFiles()));
+    }
+
+    public void start() {
+        if (running) return;
+
+        configuredBufferSize = config.getAuditBufferSize();
+        int capacity = Integer.highestOneBit(Math.max(64, config.getAuditBufferSize() - 1) << 1);
+        times = new long[capacity];
+        uuidMost = new long[capacity];
+        uuidLeast = new long[capacity];
+        commandIds = new int[capacity];
+        remaining = new long[capacity];
+        mask = capacity - 1;
+        head.set(0);
+        tail.set(0);
+
+        folder = new File(plugin.getDataFolder(), "audit");
+        current = new File(folder, "audit.log");
+        maxFileBytes = config.getAuditMaxFileSizeMb() * 1024L * 1024L;
+        maxFiles = config.getAuditMaxFiles();
+
+        running = true;
+        thread = new Thread(this::run, "CommandCooldown-AuditLog");
+        thread.setDaemon(true);
+        thread.start();
+        plugin.getLogger().info("Audit log enabled (buffer " + capacity + " records).");
+    }
+
+    /**
+     * Zatrzymuje wątek zapisujący, zapisując najpierw wszystko, co zostało w buforze.
+     */
+    public void stop() {
+        if (!running) return;
+
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Zapisuje zablokowaną komendę. Tylko z głównego wątku - nie blokuje i nie alokuje.
+     *
+     * @param commandId   ID komendy albo {@link #GLOBAL}
+     * @param remainingMs Pozostały czas cooldownu w ms
+     */
+    public void record(UUID uuid, int commandId, long remainingMs) {
+        if (!running) return;
+
+        long t = tail.get();
+        if (t - head.get() > mask) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        int slot = (int) t & mask;
+        times[slot] = System.currentTimeMillis();
+        uuidMost[slot] = uuid.getMostSignificantBits();
+        uuidLeast[slot] = uuid.getLeastSignificantBits();
+        commandIds[slot] = commandId;
+        remaining[slot] = remainingMs;
+        tail.lazySet(t + 1);
+    }
+
+    // =========== WĄTEK ZAPISUJĄCY ===========
+
+    private void run() {
+        long reportedDropped = 0;
+        try {
+            while (running) {
+                LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+                drain();
+
+                long droppedNow = dropped.get();
+                if (droppedNow != reportedDropped && writer != null) {
+                    write("# dropped " + (droppedNow - reportedDropped) + " record(s), buffer full");
+                    reportedDropped = droppedNow;
+                }
+                if (writer != null) writer.flush();
+            }
+            drain();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Audit log stopped: " + e.getMessage());
+            running = false;
+        } finally {
+            closeWriter();
+        }
+    }
+
+    private void drain() throws IOException {
+        long h = head.get();
+        long t = tail.get();
+        if (h == t) return;
+
+        StringBuilder line = new StringBuilder(96);
+        for (; h < t; h++) {
+            int slot = (int) h & mask;
+            int commandId = commandIds[slot];
+
+            line.setLength(0);
+            TIME_FORMAT.formatTo(Instant.ofEpochMilli(times[slot]), line);
+            line.append('\t').append(new UUID(uuidMost[slot], uuidLeast[slot]))
+                    .append('\t').append(commandId == GLOBAL ? "*" : "/" + config.getCommandName(commandId))
+                    .append('\t').append(remaining[slot]).append("ms");
+
+            // Slot można nadpisać dopiero po odczycie
+            head.lazySet(h + 1);
+            write(line);
+        }
+    }
+
+    private void write(CharSequence line) throws IOException {
+        if (writer == null) openWriter();
+
+        writer.append(line);
+        writer.newLine();
+        written += utf8Length(line) + NEWLINE_BYTES;
+
+        if (written >= maxFileBytes) {
+            rotate();
+        }
+    }
+
+    // Rozmiar w bajtach UTF-8 bez kodowania (nazwy komend mogą mieć znaki spoza ASCII)
+    private static int utf8Length(CharSequence text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) bytes++;
+            else if (c < 0x800) bytes += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else bytes += 3;
+        }
+        return bytes;
+    }
+
+    private void openWriter() throws IOException {
+        if (!folder.exists() && !folder.mkdirs()) {
+            throw new IOException("Could not create " + folder);
+        }
+        written = current.length();
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(current, true), StandardCharsets.UTF_8));
+    }
+
+    private void closeWriter() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException ignored) {
+        }
+        writer = null;
+    }
+
+    // Kompresuje bieżący plik do audit-<czas>-<nr>.log.gz i usuwa najstarsze archiwa
+    private void rotate() throws IOException {
+        closeWriter();
+
+        try (InputStream in = new FileInputStream(current);
+             OutputStream out = new GZIPOutputStream(createArchive())) {
+            in.transferTo(out);
+        }
+        if (!current.delete()) {
+            throw new IOException("Could not delete " + current);
+        }
+
+        File[] archives = folder.listFiles((dir, name) -> name.startsWith("audit-") && name.endsWith(".log.gz"));
+        if (archives != null && archives.length > maxFiles) {
+            Arrays.sort(archives, Comparator.comparing(File::getName));
+            for (int i = 0; i < archives.length - maxFiles; i++) {
+                archives[i].delete();
+            }
+        }
+    }
+
+    // Kilka rotacji w tej samej sekundzie dostaje kolejne numery - istniejące archiwum nigdy nie jest nadpisywane
+    private OutputStream createArchive() throws IOException {
+        String time = FILE_FORMAT.format(Instant.now());
+        for (int seq = 0; ; seq++) {
+            File archive = new File(folder, String.format("audit-%s-%03d.log.gz", time, seq));
+            try {
+                return Files.newOutputStream(archive.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException ignored) {
+            }
+        }
+    }
+}
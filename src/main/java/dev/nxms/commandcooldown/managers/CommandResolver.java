@@ -0,0 +1,97 @@
+package dev.nxms.commandcooldown.managers;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.utils.CommandTable;
+import dev.nxms.commandcooldown.utils.LabelCache;
+import org.bukkit.command.Command;
+
+import java.util.Locale;
+
+/**
+ * Zamienia wpisany label na regułę przez CommandMap serwera, więc aliasy i przestrzenie
+ * nazw ("/essentials:home", "/ehome", "/home") dzielą jeden cooldown. Wynik jest
+ * zapamiętywany - znany label to jedno wyszukanie w cache bez alokacji. Cache jest
+ * czyszczony przy rejestracji komend (start serwera, włączenie/wyłączenie pluginu)
+ * i zmianie reguł w configu. Tylko z głównego wątku.
+ */
+public class CommandResolver {
+
+    // Limit zapamiętanych labeli - chroni przed spamem losowymi komendami
+    private static final int MAX_CACHED = 1024;
+    private static final int MISSING = Integer.MIN_VALUE;
+
+    private final CommandCooldown plugin;
+    private final ConfigManager config;
+    private final LabelCache cache = new LabelCache(MAX_CACHED);
+
+    // Reguły, z których powstał cache
+    private CommandTable rules;
+
+    public CommandResolver(CommandCooldown plugin) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+    }
+
+    /**
+     * Reguła dla labela {@code text[start, end)}: ID komendy z cooldownem,
+     * {@link ConfigManager#RULE_EXCLUDED}, {@link ConfigManager#RULE_UNKNOWN}
+     * albo {@link ConfigManager#RULE_GLOBAL}. Nie alokuje dla znanego labela.
+     */
+    public int resolve(CharSequence text, int start, int end) {
+        CommandTable current = config.getRules();
+        if (current != rules) {
+            cache.clear();
+            rules = current;
+        }
+
+        int rule = cache.get(text, start, end, MISSING);
+        if (rule != MISSING) return rule;
+
+        String label = text.subSequence(start, end).toString().toLowerCase(Locale.ROOT);
+        rule = canonicalize(label);
+        cache.put(label, rule);
+        return rule;
+    }
+
+    /**
+     * Czyści cache po zmianie zarejestrowanych komend.
+     */
+    public void invalidate() {
+        cache.clear();
+    }
+
+    public int getCachedCount() {
+        return cache.size();
+    }
+
+    public long estimateBytes() {
+        return cache.estimateBytes();
+    }
+
+    private int canonicalize(String label) {
+        // Label wpisany wprost w config ma pierwszeństwo
+        int rule = config.resolveRule(label, 0, label.length());
+        if (rule != ConfigManager.RULE_GLOBAL) return rule;
+
+        // Nieznana komenda i tak się nie wykona - nie zużywa globalnego cooldownu
+        Command command = plugin.getServer().getCommandMap().getCommand(label);
+        if (command == null) return ConfigManager.RULE_UNKNOWN;
+
+        // Nazwa bez przestrzeni nazw, nazwa komendy i aliasy - wykluczenie wygrywa z cooldownem
+        int colon = label.indexOf(':');
+        rule = merge(ConfigManager.RULE_GLOBAL, colon >= 0 ? label.substring(colon + 1) : label);
+        rule = merge(rule, command.getName());
+        for (String alias : command.getAliases()) {
+            rule = merge(rule, alias);
+        }
+        return rule;
+    }
+
+    private int merge(int rule, String name) {
+        if (rule == ConfigManager.RULE_EXCLUDED || name == null) return rule;
+
+        int other = config.resolveRule(name, 0, name.length());
+        if (other == ConfigManager.RULE_EXCLUDED) return other;
+        return rule == ConfigManager.RULE_GLOBAL ? other : rule;
+    }
+}
@@ -1,27 +1,99 @@
 package dev.nxms.commandcooldown.managers;
 
 import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.utils.CommandTable;
+import dev.nxms.commandcooldown.utils.PrefixIndex;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ConfigManager {
 
+    // Reguły zwracane przez resolveRule() - wartości >= 0 to ID komendy z własnym cooldownem
+    public static final int RULE_GLOBAL = -1;
+    public static final int RULE_EXCLUDED = -2;
+    // Komenda nieznana serwerowi (tylko CommandResolver) - nie jest ograniczana
+    public static final int RULE_UNKNOWN = -3;
+
     private final CommandCooldown plugin;
 
+    // Komendy pluginu i ich aliasy z plugin.yml - zawsze wykluczone
+    private final Set<String> pluginCommands;
+
     private boolean enabled;
     private String language;
     private int cooldownSeconds;
+    private int listPageSize;
+    private boolean watchFiles;
+    private boolean perPlayerLanguage;
+
+    // Dziennik zablokowanych komend
+    private boolean auditLog;
+    private int auditBufferSize;
+    private int auditMaxFileSizeMb;
+    private int auditMaxFiles;
+
+    // Eskalacja cooldownu przy powtarzanych próbach
+    private boolean escalation;
+    private int escalationWindowSeconds;
+    private double escalationMultiplier;
+    private int escalationMaxSeconds;
+    private int escalationSilentThreshold;
+
+    // Odrzucanie powtórzeń tej samej komendy
+    private boolean dedupe;
+    private int dedupeWindowSeconds;
+    private int dedupeHistory;
+
+    // Ograniczanie komend spoza graczy (ServerCommandEvent)
+    private boolean throttleCommandBlocks;
+    private boolean throttleMinecarts;
+    private boolean throttleConsole;
+
+    // Limit pamięci stanu cooldownów i polityka usuwania
+    private long memoryCapBytes;
+    private boolean evictGlobalFirst;
+
+    // Odliczanie aktywnego cooldownu na pasku akcji albo pasku bossa
+    private boolean countdown;
+    private boolean countdownBossBar;
+
+    // Ranking graczy i komend z największą liczbą blokad (/cc top)
+    private boolean top;
+    private int topCapacity;
+    private int topHalfLifeSeconds;
     private List<String> excludedCommands;
     private Map<String, Integer> commandCooldowns;
 
+    // Stałe ID komend (tylko dopisywane, przetrwają przeładowanie) - indeksy w tablicach cooldownów graczy
+    private final Map<String, Integer> commandIds = new ConcurrentHashMap<>();
+    private volatile String[] commandNames = new String[0];
+
+    // Posortowany indeks komend z cooldownem (tab-complete), przebudowywany przy zmianie configu
+    private volatile PrefixIndex commandIndex = PrefixIndex.EMPTY;
+
+    // Tiery cooldownów (posortowane od najwyższego priorytetu)
+    private List<CooldownTier> tiers;
+
+    // Label -> reguła (ID komendy albo RULE_EXCLUDED) i cooldowny w sekundach per profil tieru i reguła
+    private volatile CommandTable rules = CommandTable.EMPTY;
+    private volatile TierTable tierTable = TierTable.empty();
+
     public ConfigManager(CommandCooldown plugin) {
         this.plugin = plugin;
+        this.pluginCommands = readPluginCommands(plugin);
         reload();
     }
 
@@ -29,32 +101,366 @@ public class ConfigManager {
         FileConfiguration cfg = plugin.getConfig();
 
         this.enabled = cfg.getBoolean("enabled", true);
-        this.language = cfg.getString("language", "en").toLowerCase(Locale.ROOT);
-        this.cooldownSeconds = Math.max(0, cfg.getInt("cooldown-seconds", 3));
+        this.language = readLanguage(cfg);
+        this.cooldownSeconds = readCooldownSeconds(cfg);
+        this.listPageSize = readListPageSize(cfg);
+        this.watchFiles = cfg.getBoolean("watch-files", false);
+        this.perPlayerLanguage = cfg.getBoolean("per-player-language", true);
+        readAuditLog(cfg);
+        readTop(cfg);
+        readEscalation(cfg);
+        readServerCommands(cfg);
+        readDedupe(cfg);
+        readCountdown(cfg);
+        readMemory(cfg);
+        this.excludedCommands = readExcludedCommands(cfg);
+        this.tiers = readTiers(cfg);
+
+        // Cooldowny per-komenda
+        this.commandCooldowns = readCommandCooldowns(cfg);
+        for (String command : commandCooldowns.keySet()) {
+            internCommand(command);
+        }
+        rebuildCommandIndex();
+        rebuildRules();
+
+        plugin.getLogger().info("Config has been reloaded.");
+    }
+
+    /**
+     * Nakłada nowo sparsowany config.yml, zmieniając tylko wpisy, które się różnią.
+     * ID komend zostają, a indeks komend jest przebudowywany tylko przy zmianie listy komend.
+     * Tablice reguł i tierów są przebudowywane tylko przy zmianie cooldownów, wykluczeń lub tierów.
+     * Wywoływać z głównego wątku.
+     *
+     * @return Liczba zmienionych wpisów
+     */
+    public int applyChanges(FileConfiguration parsed) {
+        // Przenieś wartości do configu pluginu, żeby późniejsze saveConfig() ich nie nadpisało
+        FileConfiguration live = plugin.getConfig();
+        for (String key : live.getKeys(false)) {
+            if (!parsed.contains(key)) live.set(key, null);
+        }
+        for (String key : parsed.getKeys(false)) {
+            live.set(key, parsed.get(key));
+        }
+
+        int changes = 0;
+
+        boolean newEnabled = parsed.getBoolean("enabled", true);
+        if (newEnabled != enabled) {
+            enabled = newEnabled;
+            changes++;
+        }
+
+        String newLanguage = readLanguage(parsed);
+        if (!newLanguage.equals(language)) {
+            language = newLanguage;
+            changes++;
+        }
+
+        boolean rulesChanged = false;
+        int newCooldown = readCooldownSeconds(parsed);
+        if (newCooldown != cooldownSeconds) {
+            cooldownSeconds = newCooldown;
+            changes++;
+            rulesChanged = true;
+        }
+
+        int newPageSize = readListPageSize(parsed);
+        if (newPageSize != listPageSize) {
+            listPageSize = newPageSize;
+            changes++;
+        }
+
+        boolean newWatchFiles = parsed.getBoolean("watch-files", false);
+        if (newWatchFiles != watchFiles) {
+            watchFiles = newWatchFiles;
+            changes++;
+        }
+
+        boolean newPerPlayerLanguage = parsed.getBoolean("per-player-language", true);
+        if (newPerPlayerLanguage != perPlayerLanguage) {
+            perPlayerLanguage = newPerPlayerLanguage;
+            changes++;
+        }
+
+        if (readAuditLog(parsed)) {
+            changes++;
+        }
+
+        if (readTop(parsed)) {
+            changes++;
+        }
+
+        if (readEscalation(parsed)) {
+            changes++;
+        }
+
+        if (readServerCommands(parsed)) {
+            changes++;
+        }
+
+        if (readDedupe(parsed)) {
+            changes++;
+        }
+
+        if (readCountdown(parsed)) {
+            changes++;
+        }
+
+        if (readMemory(parsed)) {
+            changes++;
+        }
+
+        List<String> newExcluded = readExcludedCommands(parsed);
+        if (!newExcluded.equals(excludedCommands)) {
+            excludedCommands = newExcluded;
+            changes++;
+            rulesChanged = true;
+        }
+
+        List<CooldownTier> newTiers = readTiers(parsed);
+        if (!newTiers.equals(tiers)) {
+            tiers = newTiers;
+            changes++;
+            rulesChanged = true;
+        }
+
+        // Cooldowny per-komenda - tylko dodane, zmienione i usunięte wpisy
+        Map<String, Integer> newCooldowns = readCommandCooldowns(parsed);
+        boolean keysChanged = false;
+        for (Map.Entry<String, Integer> entry : newCooldowns.entrySet()) {
+            Integer old = commandCooldowns.put(entry.getKey(), entry.getValue());
+            if (entry.getValue().equals(old)) continue;
+
+            changes++;
+            rulesChanged = true;
+            if (old == null) {
+                internCommand(entry.getKey());
+                keysChanged = true;
+            }
+        }
+        Iterator<String> it = commandCooldowns.keySet().iterator();
+        while (it.hasNext()) {
+            if (!newCooldowns.containsKey(it.next())) {
+                it.remove();
+                changes++;
+                keysChanged = true;
+                rulesChanged = true;
+            }
+        }
+        if (keysChanged) {
+            rebuildCommandIndex();
+        }
+        if (rulesChanged) {
+            rebuildRules();
+        }
+
+        return changes;
+    }
+
+    /**
+     * Wczytuje ustawienia dziennika blokad.
+     *
+     * @return Czy któreś ustawienie się zmieniło
+     */
+    private boolean readAuditLog(ConfigurationSection cfg) {
+        boolean newEnabled = cfg.getBoolean("audit-log.enabled", false);
+        int newBufferSize = Math.max(64, cfg.getInt("audit-log.buffer-size", 8192));
+        int newMaxFileSize = Math.max(1, cfg.getInt("audit-log.max-file-size-mb", 10));
+        int newMaxFiles = Math.max(1, cfg.getInt("audit-log.max-files", 10));
+
+        boolean changed = newEnabled != auditLog || newBufferSize != auditBufferSize
+                || newMaxFileSize != auditMaxFileSizeMb || newMaxFiles != auditMaxFiles;
+
+        this.auditLog = newEnabled;
+        this.auditBufferSize = newBufferSize;
+        this.auditMaxFileSizeMb = newMaxFileSize;
+        this.auditMaxFiles = newMaxFiles;
+        return changed;
+    }
+
+    /**
+     * Wczytuje ustawienia rankingu blokad.
+     *
+     * @return Czy któreś ustawienie się zmieniło
+     */
+    private boolean readTop(ConfigurationSection cfg) {
+        boolean newEnabled = cfg.getBoolean("top.enabled", true);
+        int newCapacity = Math.min(1024, Math.max(8, cfg.getInt("top.capacity", 64)));
+        int newHalfLife = Math.max(1, cfg.getInt("top.half-life-seconds", 300));
+
+        boolean changed = newEnabled != top || newCapacity != topCapacity || newHalfLife != topHalfLifeSeconds;
+
+        this.top = newEnabled;
+        this.topCapacity = newCapacity;
+        this.topHalfLifeSeconds = newHalfLife;
+        return changed;
+    }
+
+    /**
+     * Wczytuje ustawienia eskalacji cooldownu.
+     *
+     * @return Czy któreś ustawienie się zmieniło
+     */
+    private boolean readEscalation(ConfigurationSection cfg) {
+        boolean newEnabled = cfg.getBoolean("escalation.enabled", false);
+        int newWindow = Math.max(1, cfg.getInt("escalation.window-seconds", 10));
+        double newMultiplier = Math.max(1.0, cfg.getDouble("escalation.multiplier", 1.5));
+        int newMax = Math.max(1, cfg.getInt("escalation.max-cooldown-seconds", 300));
+        int newThreshold = Math.max(0, cfg.getInt("escalation.silent-threshold", 5));
+
+        boolean changed = newEnabled != escalation || newWindow != escalationWindowSeconds
+                || newMultiplier != escalationMultiplier || newMax != escalationMaxSeconds
+                || newThreshold != escalationSilentThreshold;
+
+        this.escalation = newEnabled;
+        this.escalationWindowSeconds = newWindow;
+        this.escalationMultiplier = newMultiplier;
+        this.escalationMaxSeconds = newMax;
+        this.escalationSilentThreshold = newThreshold;
+        return changed;
+    }
+
+    /**
+     * Wczytuje ustawienia ograniczania komend bloków poleceń i konsoli.
+     *
+     * @return Czy któreś ustawienie się zmieniło
+     */
+    private boolean readServerCommands(ConfigurationSection cfg) {
+        boolean newCommandBlocks = cfg.getBoolean("server-commands.command-blocks", false);
+        boolean newMinecarts = cfg.getBoolean("server-commands.minecarts", false);
+        boolean newConsole = cfg.getBoolean("server-commands.console", false);
+
+        boolean changed = newCommandBlocks != throttleCommandBlocks || newMinecarts != throttleMinecarts
+                || newConsole != throttleConsole;
+
+        this.throttleCommandBlocks = newCommandBlocks;
+        this.throttleMinecarts = newMinecarts;
+        this.throttleConsole = newConsole;
+        return changed;
+    }
+
+    /**
+     * Wczytuje ustawienia odrzucania powtórzeń.
+     *
+     * @return Czy któreś ustawienie się zmieniło
+     */
+    private boolean readDedupe(ConfigurationSection cfg) {
+        boolean newEnabled = cfg.getBoolean("dedupe.enabled", false);
+        int newWindow = Math.max(1, cfg.getInt("dedupe.window-seconds", 5));
+        int newHistory = Math.min(32, Math.max(1, cfg.getInt("dedupe.history", 4)));
+
+        boolean changed = newEnabled != dedupe || newWindow != dedupeWindowSeconds || newHistory != dedupeHistory;
+
+        this.dedupe = newEnabled;
+        this.dedupeWindowSeconds = newWindow;
+        this.dedupeHistory = newHistory;
+        return changed;
+    }
+
+    /**
+     * Wczytuje ustawienia odliczania cooldownu.
+     *
+     * @return Czy któreś ustawienie się zmieniło
+     */
+    private boolean readCountdown(ConfigurationSection cfg) {
+        boolean newEnabled = cfg.getBoolean("countdown.enabled", false);
+        boolean newBossBar = "boss-bar".equalsIgnoreCase(cfg.getString("countdown.display", "action-bar"));
+
+        boolean changed = newEnabled != countdown || newBossBar != countdownBossBar;
+
+        this.countdown = newEnabled;
+        this.countdownBossBar = newBossBar;
+        return changed;
+    }
+
+    /**
+     * Wczytuje limit pamięci i politykę usuwania.
+     *
+     * @return Czy któreś ustawienie się zmieniło
+     */
+    private boolean readMemory(ConfigurationSection cfg) {
+        long newCap = Math.max(0, cfg.getInt("memory.max-megabytes", 32)) * 1024L * 1024L;
+        boolean newGlobalFirst = "global-first".equalsIgnoreCase(cfg.getString("memory.eviction", "soonest-expiry"));
+
+        boolean changed = newCap != memoryCapBytes || newGlobalFirst != evictGlobalFirst;
+
+        this.memoryCapBytes = newCap;
+        this.evictGlobalFirst = newGlobalFirst;
+        return changed;
+    }
+
+    private static Set<String> readPluginCommands(CommandCooldown plugin) {
+        Set<String> commands = new HashSet<>();
+        for (Map.Entry<String, Map<String, Object>> entry : plugin.getDescription().getCommands().entrySet()) {
+            commands.add(entry.getKey().toLowerCase(Locale.ROOT));
+
+            Object aliases = entry.getValue() == null ? null : entry.getValue().get("aliases");
+            if (aliases instanceof Collection<?> list) {
+                for (Object alias : list) {
+                    commands.add(String.valueOf(alias).toLowerCase(Locale.ROOT));
+                }
+            } else if (aliases != null) {
+                commands.add(aliases.toString().toLowerCase(Locale.ROOT));
+            }
+        }
+        return commands;
+    }
+
+    private static String readLanguage(ConfigurationSection cfg) {
+        return cfg.getString("language", "en").toLowerCase(Locale.ROOT);
+    }
+
+    private static int readCooldownSeconds(ConfigurationSection cfg) {
+        return Math.max(0, cfg.getInt("cooldown-seconds", 3));
+    }
+
+    private static int readListPageSize(ConfigurationSection cfg) {
+        return Math.max(1, cfg.getInt("list-page-size", 10));
+    }
 
-        // Wykluczone komendy
-        List<String> list = cfg.getStringList("excluded-commands");
+    // Wykluczone komendy
+    private static List<String> readExcludedCommands(ConfigurationSection cfg) {
         List<String> normalized = new ArrayList<>();
-        for (String s : list) {
+        for (String s : cfg.getStringList("excluded-commands")) {
             if (s != null && !s.isBlank()) {
                 normalized.add(s.toLowerCase(Locale.ROOT));
             }
         }
-        this.excludedCommands = normalized;
+        return normalized;
+    }
 
-        // Cooldowny per-komenda
-        this.commandCooldowns = new HashMap<>();
+    // Tiery posortowane od najwyższego priorytetu
+    private static List<CooldownTier> readTiers(ConfigurationSection cfg) {
+        List<CooldownTier> result = new ArrayList<>();
+        ConfigurationSection section = cfg.getConfigurationSection("tiers");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                ConfigurationSection tier = section.getConfigurationSection(key);
+                if (tier != null) {
+                    result.add(CooldownTier.read(key, tier));
+                }
+            }
+        }
+        result.sort(Comparator.comparingInt(CooldownTier::priority).reversed()
+                .thenComparing(CooldownTier::name));
+        return result;
+    }
+
+    private static Map<String, Integer> readCommandCooldowns(ConfigurationSection cfg) {
+        Map<String, Integer> result = new HashMap<>();
         ConfigurationSection section = cfg.getConfigurationSection("command-cooldowns");
         if (section != null) {
             for (String key : section.getKeys(false)) {
                 int value = section.getInt(key, 0);
                 if (value > 0) {
-                    commandCooldowns.put(key.toLowerCase(Locale.ROOT), value);
+                    result.put(key.toLowerCase(Locale.ROOT), value);
                 }
             }
         }
-
-        plugin.getLogger().info("Config has been reloaded.");
+        return result;
     }
 
     public void setCooldownSeconds(int seconds) {
@@ -62,6 +468,7 @@ public class ConfigManager {
         plugin.getConfig().set("cooldown-seconds", seconds);
         plugin.saveConfig();
         this.cooldownSeconds = seconds;
+        rebuildRules();
     }
 
     public void setCommandCooldown(String command, int seconds) {
@@ -73,9 +480,12 @@ public class ConfigManager {
 
         if (seconds > 0) {
             commandCooldowns.put(command, seconds);
+            internCommand(command);
         } else {
             commandCooldowns.remove(command);
         }
+        rebuildCommandIndex();
+        rebuildRules();
     }
 
     public void removeCommandCooldown(String command) {
@@ -85,6 +495,107 @@ public class ConfigManager {
         plugin.saveConfig();
 
         commandCooldowns.remove(command);
+        rebuildCommandIndex();
+        rebuildRules();
+    }
+
+    private void rebuildCommandIndex() {
+        this.commandIndex = PrefixIndex.of(commandCooldowns.keySet());
+    }
+
+    // Komendy pluginu i wykluczenia mają pierwszeństwo przed cooldownem komendy
+    private void rebuildRules() {
+        Map<String, Integer> ids = new HashMap<>();
+        for (String command : commandCooldowns.keySet()) {
+            ids.put(command, internCommand(command));
+        }
+
+        Map<String, Integer> entries = new HashMap<>(ids);
+        for (String command : excludedCommands) {
+            entries.put(command, RULE_EXCLUDED);
+        }
+        for (String command : pluginCommands) {
+            entries.put(command, RULE_EXCLUDED);
+        }
+
+        TierTable table = new TierTable(tiers, cooldownSeconds, commandCooldowns, ids, getCommandIdCount());
+        if (table.getSkipped() > 0) {
+            plugin.getLogger().warning("Too many tier profiles, " + table.getSkipped() + " tier(s)/world(s) ignored (limit 128).");
+        }
+
+        this.tierTable = table;
+        this.rules = new CommandTable(entries);
+    }
+
+    /**
+     * Zwraca regułę dla labela {@code text[start, end)} bez alokacji: ID komendy
+     * z własnym cooldownem, {@link #RULE_EXCLUDED} albo {@link #RULE_GLOBAL}.
+     * Bezpieczne z każdego wątku.
+     */
+    public int resolveRule(CharSequence text, int start, int end) {
+        return rules.get(text, start, end, RULE_GLOBAL);
+    }
+
+    /**
+     * Aktualna tablica reguł - nowa instancja po każdej zmianie reguł.
+     */
+    public CommandTable getRules() {
+        return rules;
+    }
+
+    /**
+     * Bazowy cooldown komendy o podanym ID w sekundach (0 = brak własnego cooldownu).
+     */
+    public int getCommandCooldownSeconds(int commandId) {
+        return commandId < 0 ? 0 : tierTable.getSeconds(TierTable.DEFAULT_PROFILE, commandId);
+    }
+
+    /**
+     * Skompilowane tiery i cooldowny per profil. Bezpieczne do odczytu z innych wątków.
+     */
+    public TierTable getTierTable() {
+        return tierTable;
+    }
+
+    public List<CooldownTier> getTiers() {
+        return tiers;
+    }
+
+    // =========== ID KOMEND ===========
+
+    /**
+     * Zwraca stałe ID komendy, nadając nowe przy pierwszym użyciu.
+     */
+    public int internCommand(String command) {
+        command = command.toLowerCase(Locale.ROOT);
+        Integer id = commandIds.get(command);
+        if (id != null) return id;
+
+        synchronized (commandIds) {
+            id = commandIds.get(command);
+            if (id != null) return id;
+
+            String[] names = Arrays.copyOf(commandNames, commandNames.length + 1);
+            names[names.length - 1] = command;
+            commandNames = names;
+            commandIds.put(command, names.length - 1);
+            return names.length - 1;
+        }
+    }
+
+    /**
+     * Zwraca ID komendy albo -1, jeśli komenda nie ma jeszcze ID.
+     */
+    public int getCommandId(String command) {
+        return commandIds.getOrDefault(command.toLowerCase(Locale.ROOT), -1);
+    }
+
+    public String getCommandName(int id) {
+        return commandNames[id];
+    }
+
+    public int getCommandIdCount() {
+        return commandNames.length;
     }
 
     public boolean hasCommandCooldown(String command) {
@@ -99,6 +610,13 @@ public class ConfigManager {
         return new HashMap<>(commandCooldowns);
     }
 
+    /**
+     * Posortowany indeks komend z indywidualnym cooldownem. Bezpieczny do odczytu z innych wątków.
+     */
+    public PrefixIndex getCommandIndex() {
+        return commandIndex;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -111,6 +629,116 @@ public class ConfigManager {
         return cooldownSeconds;
     }
 
+    public boolean isWatchFiles() {
+        return watchFiles;
+    }
+
+    public boolean isPerPlayerLanguage() {
+        return perPlayerLanguage;
+    }
+
+    public boolean isAuditLog() {
+        return auditLog;
+    }
+
+    public int getAuditBufferSize() {
+        return auditBufferSize;
+    }
+
+    public int getAuditMaxFileSizeMb() {
+        return auditMaxFileSizeMb;
+    }
+
+    public int getAuditMaxFiles() {
+        return auditMaxFiles;
+    }
+
+    public boolean isEscalation() {
+        return escalation;
+    }
+
+    public int getEscalationWindowSeconds() {
+        return escalationWindowSeconds;
+    }
+
+    public double getEscalationMultiplier() {
+        return escalationMultiplier;
+    }
+
+    public int getEscalationMaxSeconds() {
+        return escalationMaxSeconds;
+    }
+
+    public int getEscalationSilentThreshold() {
+        return escalationSilentThreshold;
+    }
+
+    public boolean isDedupe() {
+        return dedupe;
+    }
+
+    public int getDedupeWindowSeconds() {
+        return dedupeWindowSeconds;
+    }
+
+    public int getDedupeHistory() {
+        return dedupeHistory;
+    }
+
+    /**
+     * Limit pamięci stanu cooldownów w bajtach (0 = bez limitu).
+     */
+    public long getMemoryCapBytes() {
+        return memoryCapBytes;
+    }
+
+    /**
+     * Czy przy limicie pamięci najpierw usuwać graczy z samym globalnym cooldownem
+     * (inaczej: najpierw ze stanem, który najszybciej wygasa).
+     */
+    public boolean isEvictGlobalFirst() {
+        return evictGlobalFirst;
+    }
+
+    public boolean isCountdown() {
+        return countdown;
+    }
+
+    /**
+     * Czy odliczanie jest na pasku bossa (inaczej na pasku akcji).
+     */
+    public boolean isCountdownBossBar() {
+        return countdownBossBar;
+    }
+
+    public boolean isThrottleCommandBlocks() {
+        return throttleCommandBlocks;
+    }
+
+    public boolean isThrottleMinecarts() {
+        return throttleMinecarts;
+    }
+
+    public boolean isThrottleConsole() {
+        return throttleConsole;
+    }
+
+    public boolean isTop() {
+        return top;
+    }
+
+    public int getTopCapacity() {
+        return topCapacity;
+    }
+
+    public int getTopHalfLifeSeconds() {
+        return topHalfLifeSeconds;
+    }
+
+    public int getListPageSize() {
+        return listPageSize;
+    }
+
     public List<String> getExcludedCommands() {
         return excludedCommands;
     }
@@ -0,0 +1,176 @@
+package dev.nxms.commandcooldown.managers;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Obserwuje folder pluginu i nakłada zmiany z config.yml i plików wiadomości bez /cc reload.
+ * Pliki są parsowane w osobnym wątku, a na głównym wątku nakładane są tylko różnice.
+ */
+public class ConfigWatcher {
+
+    // Czas ciszy po ostatniej zmianie pliku, zanim zostanie wczytany
+    private static final long DEBOUNCE_MS = 500;
+
+    private final CommandCooldown plugin;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    public ConfigWatcher(CommandCooldown plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    public void start() {
+        if (thread != null) return;
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            plugin.getDataFolder().toPath().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not start file watcher: " + e.getMessage());
+            watchService = null;
+            return;
+        }
+
+        thread = new Thread(this::run, "CommandCooldown-FileWatcher");
+        thread.setDaemon(true);
+        thread.start();
+        plugin.getLogger().info("Watching plugin folder for config changes.");
+    }
+
+    public void stop() {
+        if (thread == null) return;
+
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        thread.interrupt();
+        thread = null;
+        watchService = null;
+    }
+
+    private void run() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                Set<String> changed = new HashSet<>();
+                collect(service.take(), changed);
+
+                // Debounce - edytory zapisują plik kilkoma zdarzeniami
+                WatchKey key;
+                while ((key = service.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+
+                process(changed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Watcher zatrzymany
+        }
+    }
+
+    private static void collect(WatchKey key, Set<String> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path path) {
+                changed.add(path.getFileName().toString());
+            }
+        }
+        key.reset();
+    }
+
+    private void process(Set<String> changed) {
+        MessageManager messages = plugin.getMessageManager();
+
+        FileConfiguration config = null;
+        if (changed.contains("config.yml")) {
+            config = loadConfig(new File(plugin.getDataFolder(), "config.yml"));
+        }
+
+        List<MessageBundle> bundles = new ArrayList<>();
+        for (String fileName : changed) {
+            if (MessageManager.isMessagesFile(fileName) && new File(plugin.getDataFolder(), fileName).isFile()) {
+                bundles.add(messages.parse(fileName));
+            }
+        }
+
+        if (config == null && bundles.isEmpty()) return;
+
+        FileConfiguration parsedConfig = config;
+        plugin.getServer().getScheduler().runTask(plugin, () -> apply(parsedConfig, bundles));
+    }
+
+    /**
+     * Parsuje config.yml. Przy błędzie składni albo odczytu (np. plik zapisany w połowie)
+     * zwraca null - obecny config zostaje bez zmian, zamiast zostać zastąpiony pustym.
+     */
+    private FileConfiguration loadConfig(File file) {
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(file);
+            return config;
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().severe("Could not parse " + file.getName() + ", changes not applied: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void apply(FileConfiguration parsedConfig, List<MessageBundle> bundles) {
+        ConfigManager config = plugin.getConfigManager();
+        MessageManager messages = plugin.getMessageManager();
+
+        if (!bundles.isEmpty()) {
+            int changes = messages.applyChanges(bundles);
+            if (changes > 0) {
+                plugin.getLogger().info("Applied " + changes + " message change(s).");
+            }
+        }
+
+        if (parsedConfig != null) {
+            String language = config.getLanguage();
+            int changes = config.applyChanges(parsedConfig);
+            if (changes > 0) {
+                plugin.getLogger().info("Applied " + changes + " change(s) from config.yml.");
+            }
+
+            plugin.getTierManager().updateAll();
+            plugin.updateAuditLog();
+
+            // Wszystkie języki są już wczytane - wystarczy wybrać domyślny
+            if (!language.equals(config.getLanguage())) {
+                messages.updateDefaultLanguage();
+            }
+
+            if (!config.isWatchFiles()) {
+                stop();
+                plugin.getLogger().info("Stopped watching plugin folder for config changes.");
+            }
+        }
+
+        // Nowe wiadomości, tryb wyświetlania i włączenie lub wyłączenie odliczania
+        plugin.getCountdownDisplay().reload();
+    }
+}
@@ -1,61 +1,221 @@
 package dev.nxms.commandcooldown.managers;
 
 import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.utils.CommandTable;
+import dev.nxms.commandcooldown.utils.CooldownSnapshot;
+import dev.nxms.commandcooldown.utils.LongMap;
+import dev.nxms.commandcooldown.utils.MemoryEstimate;
 import org.bukkit.entity.Player;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class CooldownManager {
 
+    private static final long[] NO_COMMANDS = new long[0];
+
     private final CommandCooldown plugin;
+    private final ConfigManager config;
+
+    // Stan cooldownów graczy: UUID -> czasy wygaśnięcia (globalny + per ID komendy)
+    private volatile Map<UUID, PlayerCooldowns> players = new ConcurrentHashMap<>();
+
+    // Stan cooldownów spoza graczy (tylko główny wątek) - poza limitem pamięci, /cc inspect i eksportem:
+    // bloki poleceń (UUID świata -> spakowana pozycja -> czasy wygaśnięcia), wagoniki z blokiem poleceń i konsola
+    private final Map<UUID, LongMap<PlayerCooldowns>> blocks = new HashMap<>();
+    private final Map<UUID, PlayerCooldowns> minecarts = new HashMap<>();
+    private final PlayerCooldowns console = new PlayerCooldowns(0);
+    private int trackedBlocks;
+    private long blockTableBytes;
+    private int nextBlockPurge = 1024;
 
-    // Globalny cooldown
-    private final Map<UUID, Long> globalCooldowns = new ConcurrentHashMap<>();
+    // Generacja - zwiększenie unieważnia stan wszystkich graczy w O(1)
+    private volatile int generation;
 
-    // Cooldowny per-komenda: UUID -> (komenda -> czas wygaśnięcia)
-    private final Map<UUID, Map<String, Long>> commandCooldowns = new ConcurrentHashMap<>();
+    // Limit pamięci: liczba graczy, przy której stan jest znów przeliczany, i licznik usuniętych
+    private volatile int nextMemoryCheck = 1024;
+    private volatile long evicted;
+    private long lastEvictionWarning;
 
     public CooldownManager(CommandCooldown plugin) {
         this.plugin = plugin;
+        this.config = plugin.getConfigManager();
     }
 
-    // =========== GLOBALNY COOLDOWN ===========
+    /**
+     * Czasy wygaśnięcia cooldownów jednego gracza (ms od epoki, 0 = brak).
+     * Zapisywane tylko z głównego wątku, odczyt możliwy z dowolnego.
+     */
+    public static final class PlayerCooldowns {
 
-    public long getGlobalRemainingSeconds(Player player) {
-        long now = System.currentTimeMillis();
-        long allowedAt = globalCooldowns.getOrDefault(player.getUniqueId(), 0L);
-        if (now >= allowedAt) return 0;
+        private int generation;
+
+        // Profil tieru z TierManagera - przeżywa reset generacji, bo zależy od gracza, nie od cooldownów
+        private byte profile = TierTable.DEFAULT_PROFILE;
+
+        private volatile long globalExpiry;
+        private volatile long[] commandExpiry = NO_COMMANDS;
+
+        // Eskalacja: zablokowane próby (połowione co okno bez prób) i czas ostatniej
+        private int strikes;
+        private long lastStrike;
+
+        // Ostatnie komendy: pary (odcisk, czas) w buforze cyklicznym
+        private long[] recent = NO_COMMANDS;
+        private int recentNext;
+
+        private PlayerCooldowns(int generation) {
+            this.generation = generation;
+        }
+
+        public long getGlobalExpiry() {
+            return globalExpiry;
+        }
+
+        public byte getProfile() {
+            return profile;
+        }
+
+        /**
+         * Liczba zablokowanych prób w ostatnich oknach eskalacji.
+         */
+        public int getStrikes() {
+            return strikes;
+        }
+
+        /**
+         * Czas wygaśnięcia cooldownu komendy o podanym ID (0 = brak).
+         */
+        public long getCommandExpiry(int commandId) {
+            long[] expiry = commandExpiry;
+            return commandId >= 0 && commandId < expiry.length ? expiry[commandId] : 0L;
+        }
+
+        /**
+         * Liczba slotów komend - ID z zakresu [0, slots) mogą mieć ustawiony cooldown.
+         */
+        public int getCommandSlots() {
+            return commandExpiry.length;
+        }
+
+        private void reset(int generation) {
+            this.generation = generation;
+            this.globalExpiry = 0L;
+            this.commandExpiry = NO_COMMANDS;
+            this.strikes = 0;
+            this.lastStrike = 0L;
+            this.recent = NO_COMMANDS;
+            this.recentNext = 0;
+        }
+
+        private void setCommandExpiry(int commandId, long expiresAt, int minSlots) {
+            long[] expiry = commandExpiry;
+            if (commandId >= expiry.length) {
+                expiry = Arrays.copyOf(expiry, Math.max(commandId + 1, minSlots));
+            }
+            expiry[commandId] = expiresAt;
+            commandExpiry = expiry;
+        }
+    }
+
+    // =========== STAN GRACZA ===========
+
+    /**
+     * Zwraca aktualny stan gracza albo null, jeśli nie ma go lub został wyczyszczony resetem.
+     */
+    public PlayerCooldowns getState(UUID uuid) {
+        PlayerCooldowns state = players.get(uuid);
+        if (state == null || state.generation != generation) return null;
+        return state;
+    }
+
+    private PlayerCooldowns getOrCreateState(UUID uuid) {
+        int gen = generation;
+        PlayerCooldowns state = players.get(uuid);
+        if (state == null) {
+            // computeIfAbsent tylko dla nowego gracza - lambda alokuje przy każdym wywołaniu
+            state = players.computeIfAbsent(uuid, k -> newState(k, gen));
+            if (players.size() >= nextMemoryCheck) enforceMemoryCap(uuid);
+        }
+        if (state.generation != gen) {
+            state.reset(gen);
+        }
+        return state;
+    }
 
-        long remainingMs = allowedAt - now;
+    // Nowy stan gracza z profilem tieru - TierManager aktualizuje go potem przez updateProfile
+    private PlayerCooldowns newState(UUID uuid, int gen) {
+        PlayerCooldowns state = new PlayerCooldowns(gen);
+        TierManager tiers = plugin.getTierManager();
+        if (tiers != null) state.profile = tiers.getProfile(uuid);
+        return state;
+    }
+
+    /**
+     * Zapisuje nowy profil tieru w stanie gracza, jeśli stan istnieje. Wywoływane przez TierManager.
+     */
+    public void updateProfile(UUID uuid, byte profile) {
+        PlayerCooldowns state = players.get(uuid);
+        if (state != null) state.profile = profile;
+    }
+
+    /**
+     * Czas cooldownu reguły dla profilu tieru zapisanego w stanie gracza (0 = brak cooldownu).
+     */
+    public int getCooldownSeconds(UUID uuid, int rule) {
+        PlayerCooldowns state = players.get(uuid);
+        byte profile = state != null ? state.profile : TierTable.DEFAULT_PROFILE;
+        return config.getTierTable().getSeconds(profile, rule);
+    }
+
+    private static long toSeconds(long remainingMs) {
         return (remainingMs + 999) / 1000;
     }
 
+    // =========== GLOBALNY COOLDOWN ===========
+
+    public long getGlobalRemainingMillis(UUID uuid) {
+        PlayerCooldowns state = getState(uuid);
+        if (state == null) return 0;
+
+        long remaining = state.globalExpiry - System.currentTimeMillis();
+        return Math.max(0, remaining);
+    }
+
+    public long getGlobalRemainingSeconds(Player player) {
+        return toSeconds(getGlobalRemainingMillis(player.getUniqueId()));
+    }
+
     public boolean isOnGlobalCooldown(Player player) {
-        return getGlobalRemainingSeconds(player) > 0;
+        return getGlobalRemainingMillis(player.getUniqueId()) > 0;
     }
 
     public void applyGlobalCooldown(Player player) {
-        int seconds = plugin.getConfigManager().getCooldownSeconds();
+        int seconds = config.getCooldownSeconds();
         if (seconds <= 0) return;
-        globalCooldowns.put(player.getUniqueId(), System.currentTimeMillis() + (seconds * 1000L));
+        getOrCreateState(player.getUniqueId()).globalExpiry = System.currentTimeMillis() + (seconds * 1000L);
     }
 
     // =========== COOLDOWN PER-KOMENDA ===========
 
-    public long getCommandRemainingSeconds(Player player, String command) {
-        Map<String, Long> playerCooldowns = commandCooldowns.get(player.getUniqueId());
-        if (playerCooldowns == null) return 0;
-
-        Long allowedAt = playerCooldowns.get(command.toLowerCase());
-        if (allowedAt == null) return 0;
+    public long getCommandRemainingMillis(UUID uuid, int commandId) {
+        PlayerCooldowns state = getState(uuid);
+        if (state == null) return 0;
 
-        long now = System.currentTimeMillis();
-        if (now >= allowedAt) return 0;
+        long remaining = state.getCommandExpiry(commandId) - System.currentTimeMillis();
+        return Math.max(0, remaining);
+    }
 
-        long remainingMs = allowedAt - now;
-        return (remainingMs + 999) / 1000;
+    public long getCommandRemainingSeconds(Player player, String command) {
+        return toSeconds(getCommandRemainingMillis(player.getUniqueId(), config.getCommandId(command)));
     }
 
     public boolean isOnCommandCooldown(Player player, String command) {
@@ -64,19 +224,642 @@ public class CooldownManager {
 
     public void applyCommandCooldown(Player player, String command, int seconds) {
         if (seconds <= 0) return;
+        applyCommandCooldown(player.getUniqueId(), config.internCommand(command), seconds);
+    }
+
+    /**
+     * @throws IllegalArgumentException gdy ID komendy jest spoza zakresu ID z configu
+     */
+    public void applyCommandCooldown(UUID uuid, int commandId, int seconds) {
+        checkCommandId(commandId);
+        if (seconds <= 0) return;
 
-        command = command.toLowerCase();
         long expiresAt = System.currentTimeMillis() + (seconds * 1000L);
+        getOrCreateState(uuid).setCommandExpiry(commandId, expiresAt, config.getCommandIdCount());
+    }
+
+    /**
+     * Ustawia koniec cooldownu gracza, nadpisując obecny. 0 czyści cooldown. Tylko z głównego wątku.
+     *
+     * @param rule ID komendy albo {@link ConfigManager#RULE_GLOBAL}
+     * @throws IllegalArgumentException gdy reguła nie jest globalna ani ID komendy z configu
+     */
+    public void setExpiry(UUID uuid, int rule, long expiresAt) {
+        if (rule != ConfigManager.RULE_GLOBAL) checkCommandId(rule);
+        if (expiresAt <= 0) {
+            PlayerCooldowns state = getState(uuid);
+            if (state == null) return;
+            if (rule == ConfigManager.RULE_GLOBAL) {
+                state.globalExpiry = 0L;
+            } else {
+                clear(uuid, rule);
+            }
+            return;
+        }
+
+        PlayerCooldowns state = getOrCreateState(uuid);
+        if (rule == ConfigManager.RULE_GLOBAL) {
+            state.globalExpiry = expiresAt;
+        } else {
+            state.setCommandExpiry(rule, expiresAt, config.getCommandIdCount());
+        }
+    }
+
+    // Tablice stanu rosną do ID komendy - ID spoza zakresu wymusiłoby ogromną alokację
+    private void checkCommandId(int commandId) {
+        if (commandId < 0 || commandId >= config.getCommandIdCount()) {
+            throw new IllegalArgumentException("Unknown command ID: " + commandId);
+        }
+    }
+
+    // =========== SPRAWDZENIE I NAŁOŻENIE ===========
+
+    /**
+     * Sprawdza cooldown i, jeśli minął, od razu nakłada nowy. Czas cooldownu wynika z profilu
+     * tieru zapisanego w stanie gracza. Nie alokuje dla znanego gracza.
+     *
+     * @param rule ID komendy albo {@link ConfigManager#RULE_GLOBAL}
+     * @return 0 gdy komenda przechodzi, w przeciwnym razie pozostały czas w ms;
+     *         wartość ujemna (-pozostały czas) oznacza blokadę bez wiadomości po przekroczeniu progu eskalacji
+     */
+    public long tryAcquire(UUID uuid, int rule) {
+        PlayerCooldowns state = getOrCreateState(uuid);
+        int seconds = config.getTierTable().getSeconds(state.profile, rule);
+        if (seconds <= 0) return 0;
+
+        return acquire(state, rule, seconds, config.isEscalation());
+    }
+
+    /**
+     * Jak {@link #tryAcquire(UUID, int)}, ale dla bloku poleceń na podanej pozycji - każdy blok
+     * ma własny cooldown. Bez eskalacji: blok z zegarem blokowany co tick nie może wydłużać cooldownu.
+     * Nie alokuje dla znanego bloku. Tylko z głównego wątku.
+     */
+    public long tryAcquireBlock(UUID world, int x, int y, int z, int rule) {
+        int seconds = config.getTierTable().getSeconds(TierTable.DEFAULT_PROFILE, rule);
+        if (seconds <= 0) return 0;
+
+        long key = blockKey(x, y, z);
+        LongMap<PlayerCooldowns> positions = blocks.get(world);
+        PlayerCooldowns state = positions != null ? positions.get(key) : null;
+        if (state == null) {
+            purgeBlocks();
+            positions = blocks.get(world);
+            if (positions == null) {
+                positions = new LongMap<>(64);
+                blocks.put(world, positions);
+                blockTableBytes += positions.estimateBytes();
+            }
+
+            long before = positions.estimateBytes();
+            state = new PlayerCooldowns(generation);
+            positions.put(key, state);
+            blockTableBytes += positions.estimateBytes() - before;
+            trackedBlocks++;
+        }
+        return acquire(current(state), rule, seconds, false);
+    }
+
+    /**
+     * Jak {@link #tryAcquireBlock(UUID, int, int, int, int)}, ale dla wagonika z blokiem poleceń.
+     */
+    public long tryAcquireMinecart(UUID minecart, int rule) {
+        int seconds = config.getTierTable().getSeconds(TierTable.DEFAULT_PROFILE, rule);
+        if (seconds <= 0) return 0;
+
+        PlayerCooldowns state = minecarts.get(minecart);
+        if (state == null) {
+            purgeBlocks();
+            state = new PlayerCooldowns(generation);
+            minecarts.put(minecart, state);
+            trackedBlocks++;
+        }
+        return acquire(current(state), rule, seconds, false);
+    }
+
+    /**
+     * Jak {@link #tryAcquireBlock(UUID, int, int, int, int)}, ale dla konsoli - jeden wspólny cooldown.
+     */
+    public long tryAcquireConsole(int rule) {
+        int seconds = config.getTierTable().getSeconds(TierTable.DEFAULT_PROFILE, rule);
+        if (seconds <= 0) return 0;
+
+        return acquire(current(console), rule, seconds, false);
+    }
+
+    // Stan starszej generacji jest pusty - czyszczony przed użyciem
+    private PlayerCooldowns current(PlayerCooldowns state) {
+        int gen = generation;
+        if (state.generation != gen) state.reset(gen);
+        return state;
+    }
+
+    // Pozycja bloku w long: x i z po 26 bitów, y 12 bitów - bez kolizji w granicach świata
+    private static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    // Usuwa bloki i wagoniki bez aktywnego cooldownu, gdy urosło ich dużo od ostatniego sprzątania
+    private void purgeBlocks() {
+        if (trackedBlocks < nextBlockPurge) return;
+
+        long now = System.currentTimeMillis();
+        int gen = generation;
+        int tracked = 0;
+        long tableBytes = 0;
+        Iterator<LongMap<PlayerCooldowns>> worlds = blocks.values().iterator();
+        while (worlds.hasNext()) {
+            LongMap<PlayerCooldowns> positions = worlds.next();
+            positions.removeIf(state -> state.generation != gen || !isActive(state, now));
+            if (positions.size() == 0) {
+                worlds.remove();
+            } else {
+                tracked += positions.size();
+                tableBytes += positions.estimateBytes();
+            }
+        }
+        minecarts.values().removeIf(state -> state.generation != gen || !isActive(state, now));
+
+        trackedBlocks = tracked + minecarts.size();
+        blockTableBytes = tableBytes;
+        nextBlockPurge = Math.max(1024, trackedBlocks * 2);
+    }
+
+    private static boolean isActive(PlayerCooldowns state, long now) {
+        if (state.globalExpiry > now) return true;
+        long[] expiry = state.commandExpiry;
+        for (long value : expiry) {
+            if (value > now) return true;
+        }
+        return false;
+    }
+
+    private long acquire(PlayerCooldowns state, int rule, int seconds, boolean escalation) {
+        long now = System.currentTimeMillis();
+        long expiry = rule == ConfigManager.RULE_GLOBAL ? state.globalExpiry : state.getCommandExpiry(rule);
+        if (expiry > now) {
+            long remaining = expiry - now;
+            return escalation ? escalate(state, rule, now, remaining) : remaining;
+        }
+
+        long expiresAt = now + (seconds * 1000L);
+        if (rule == ConfigManager.RULE_GLOBAL) {
+            state.globalExpiry = expiresAt;
+        } else {
+            state.setCommandExpiry(rule, expiresAt, config.getCommandIdCount());
+        }
+        return 0;
+    }
+
+    /**
+     * Liczy zablokowaną próbę i wydłuża pozostały cooldown (mnożnik, do limitu z configu).
+     * Licznik prób spada o połowę za każde okno bez prób.
+     *
+     * @return Pozostały czas w ms, ujemny po przekroczeniu progu cichej blokady
+     */
+    private long escalate(PlayerCooldowns state, int rule, long now, long remaining) {
+        long window = config.getEscalationWindowSeconds() * 1000L;
+        long idle = now - state.lastStrike;
+        if (idle >= window) {
+            state.strikes >>>= (int) Math.min(31, idle / window);
+        }
+        state.strikes++;
+        state.lastStrike = now;
+
+        long extended = Math.min((long) (remaining * config.getEscalationMultiplier()),
+                config.getEscalationMaxSeconds() * 1000L);
+        if (extended > remaining) {
+            remaining = extended;
+            if (rule == ConfigManager.RULE_GLOBAL) {
+                state.globalExpiry = now + remaining;
+            } else {
+                state.setCommandExpiry(rule, now + remaining, config.getCommandIdCount());
+            }
+        }
 
-        commandCooldowns
-                .computeIfAbsent(player.getUniqueId(), k -> new ConcurrentHashMap<>())
-                .put(command, expiresAt);
+        return state.strikes > config.getEscalationSilentThreshold() ? -remaining : remaining;
+    }
+
+    // =========== POWTÓRZENIA ===========
+
+    /**
+     * Sprawdza, czy gracz wysłał tę samą wiadomość w oknie z configu, i zapamiętuje ją.
+     * Porównuje 64-bitowe odciski z kilku ostatnich komend gracza - bez substringów
+     * i bez alokacji poza pierwszym użyciem. Tylko z głównego wątku.
+     */
+    public boolean isDuplicate(UUID uuid, CharSequence message) {
+        long fingerprint = fingerprint(message);
+        long now = System.currentTimeMillis();
+        long window = config.getDedupeWindowSeconds() * 1000L;
+        int history = config.getDedupeHistory();
+
+        PlayerCooldowns state = getOrCreateState(uuid);
+        long[] recent = state.recent;
+        if (recent.length != history * 2) {
+            recent = new long[history * 2];
+            state.recent = recent;
+            state.recentNext = 0;
+        }
+
+        for (int i = 0; i < recent.length; i += 2) {
+            if (recent[i] == fingerprint && now - recent[i + 1] < window) {
+                // Ciągłe powtarzanie przedłuża okno
+                recent[i + 1] = now;
+                return true;
+            }
+        }
+
+        int slot = state.recentNext;
+        recent[slot * 2] = fingerprint;
+        recent[slot * 2 + 1] = now;
+        state.recentNext = (slot + 1) % history;
+        return false;
+    }
+
+    // FNV-1a 64-bit po znakach wiadomości
+    private static long fingerprint(CharSequence message) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < message.length(); i++) {
+            hash ^= message.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // =========== STATYSTYKI ===========
+
+    /**
+     * Liczba graczy w mapie stanu, także z wygasłymi cooldownami.
+     */
+    public int getTrackedPlayers() {
+        return players.size();
+    }
+
+    /**
+     * Liczba graczy z co najmniej jednym aktywnym cooldownem.
+     */
+    public int countActive() {
+        long now = System.currentTimeMillis();
+        int gen = generation;
+        int count = 0;
+        for (PlayerCooldowns state : players.values()) {
+            if (state.generation == gen && isActive(state, now)) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Liczba bloków poleceń i wagoników w stanie, także z wygasłymi cooldownami.
+     */
+    public int getTrackedBlocks() {
+        return trackedBlocks;
+    }
+
+    // =========== PAMIĘĆ ===========
+
+    // PlayerCooldowns: nagłówek, 3 inty, bajt profilu, 2 longi, 2 referencje do tablic
+    private static final long STATE_BYTES = MemoryEstimate.align(MemoryEstimate.OBJECT_HEADER
+            + 3 * 4 + 1 + 2 * 8 + 2 * MemoryEstimate.REFERENCE);
+
+    /**
+     * Szacowany rozmiar stanu cooldownów w bajtach, z podziałem na struktury.
+     *
+     * @param playerBytes  Mapa graczy: węzły, kubełki, UUID i obiekty stanu
+     * @param commandBytes Tablice cooldownów per komenda
+     * @param dedupeBytes  Historia ostatnich komend (powtórzenia)
+     * @param blockBytes   Bloki poleceń, wagoniki i konsola: mapy, obiekty stanu i ich tablice
+     */
+    public record Footprint(int players, long playerBytes, long commandBytes, long dedupeBytes,
+                            int blocks, long blockBytes) {
+
+        public long total() {
+            return playerBytes + commandBytes + dedupeBytes + blockBytes;
+        }
+
+        /**
+         * Część objęta limitem pamięci - usuwany jest tylko stan graczy, bloki sprząta purgeBlocks.
+         */
+        public long cappedBytes() {
+            return playerBytes + commandBytes + dedupeBytes;
+        }
+    }
+
+    /**
+     * Przelicza rozmiar stanu, przechodząc wszystkie wpisy - do /cc memory i sprawdzania limitu.
+     */
+    public Footprint getFootprint() {
+        Map<UUID, PlayerCooldowns> map = players;
+        int count = 0;
+        long commandBytes = 0;
+        long dedupeBytes = 0;
+        for (PlayerCooldowns state : map.values()) {
+            count++;
+            commandBytes += arrayBytes(state.commandExpiry);
+            dedupeBytes += arrayBytes(state.recent);
+        }
+        long playerBytes = MemoryEstimate.hashMap(count) + count * (MemoryEstimate.UUID + STATE_BYTES);
+
+        // Stan spoza graczy zmienia się tylko na głównym wątku - tu tylko liczniki, bez przechodzenia map
+        int blockCount = trackedBlocks;
+        int minecartCount = minecarts.size();
+        long blockBytes = blockTableBytes + MemoryEstimate.hashMap(blocks.size())
+                + MemoryEstimate.hashMap(minecartCount) + minecartCount * MemoryEstimate.UUID
+                + (blockCount + 1) * STATE_BYTES;
+        return new Footprint(count, playerBytes, commandBytes, dedupeBytes, blockCount, blockBytes);
+    }
+
+    /**
+     * Liczba stanów graczy usuniętych po przekroczeniu limitu pamięci od startu serwera.
+     */
+    public long getEvicted() {
+        return evicted;
+    }
+
+    private static long arrayBytes(long[] array) {
+        return array == NO_COMMANDS ? 0 : MemoryEstimate.longArray(array.length);
+    }
+
+    private static long stateBytes(PlayerCooldowns state) {
+        return MemoryEstimate.MAP_NODE + MemoryEstimate.UUID + STATE_BYTES
+                + arrayBytes(state.commandExpiry) + arrayBytes(state.recent);
+    }
+
+    /**
+     * Sprawdza limit pamięci z configu i usuwa stan graczy według polityki, do 90% limitu.
+     * Wywoływane po przyroście liczby graczy o 1/8 (co najmniej 256), więc przejście mapy
+     * rozkłada się na wiele nowych wpisów.
+     *
+     * @param keep Gracz, którego stan właśnie powstał - wywołujący zaraz go użyje
+     */
+    private synchronized void enforceMemoryCap(UUID keep) {
+        if (players.size() < nextMemoryCheck) return;
+        applyMemoryCap(keep);
+    }
+
+    // Bez progu liczby graczy - także po wczytaniu zrzutu, który podmienia całą mapę
+    private synchronized void applyMemoryCap(UUID keep) {
+        Map<UUID, PlayerCooldowns> map = players;
+        long cap = config.getMemoryCapBytes();
+        if (cap > 0) {
+            long used = getFootprint().cappedBytes();
+            if (used > cap) {
+                evict(map, used, cap - cap / 10, keep);
+            }
+        }
+        nextMemoryCheck = map.size() + Math.max(256, map.size() / 8);
+    }
+
+    private void evict(Map<UUID, PlayerCooldowns> map, long used, long target, UUID keep) {
+        long now = System.currentTimeMillis();
+        int gen = generation;
+        int removed = 0;
+
+        // Najpierw stan bez aktywnego cooldownu - nic nie jest tracone poza historią powtórzeń
+        for (Map.Entry<UUID, PlayerCooldowns> entry : map.entrySet()) {
+            if (used <= target) break;
+            PlayerCooldowns state = entry.getValue();
+            if (entry.getKey().equals(keep)) continue;
+            if ((state.generation != gen || !isActive(state, now)) && map.remove(entry.getKey(), state)) {
+                used -= stateBytes(state);
+                removed++;
+            }
+        }
+
+        if (used > target) {
+            // Kolejność z polityki - wyniki liczone z góry, bo stan może się zmieniać w trakcie sortowania
+            List<Map.Entry<UUID, PlayerCooldowns>> entries = new ArrayList<>(map.entrySet());
+            long[] scores = new long[entries.size()];
+            Integer[] order = new Integer[entries.size()];
+            boolean globalFirst = config.isEvictGlobalFirst();
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] = evictionScore(entries.get(i).getValue(), now, globalFirst);
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(scores[a], scores[b]));
+
+            for (int i = 0; i < order.length && used > target; i++) {
+                Map.Entry<UUID, PlayerCooldowns> entry = entries.get(order[i]);
+                if (entry.getKey().equals(keep)) continue;
+                if (map.remove(entry.getKey(), entry.getValue())) {
+                    used -= stateBytes(entry.getValue());
+                    removed++;
+                }
+            }
+        }
+
+        evicted += removed;
+        if (removed > 0 && now - lastEvictionWarning >= 60_000L) {
+            lastEvictionWarning = now;
+            plugin.getLogger().warning("Cooldown state reached the memory cap (" + config.getMemoryCapBytes() / (1024 * 1024)
+                    + " MB), removed " + removed + " player(s). Total removed: " + evicted + ".");
+        }
+    }
+
+    /**
+     * Im mniejszy wynik, tym wcześniej stan jest usuwany. soonest-expiry: czas wygaśnięcia
+     * ostatniego cooldownu. global-first: najpierw gracze z samym globalnym cooldownem.
+     */
+    private static long evictionScore(PlayerCooldowns state, long now, boolean globalFirst) {
+        long latest = state.globalExpiry;
+        boolean command = false;
+        for (long expiry : state.commandExpiry) {
+            if (expiry > now) command = true;
+            latest = Math.max(latest, expiry);
+        }
+        return globalFirst && command ? latest + (1L << 60) : latest;
     }
 
     // =========== CZYSZCZENIE ===========
 
     public void clearAll(Player player) {
-        globalCooldowns.remove(player.getUniqueId());
-        commandCooldowns.remove(player.getUniqueId());
+        clear(player.getUniqueId());
+    }
+
+    /**
+     * Czyści wszystkie cooldowny gracza.
+     */
+    public void clear(UUID uuid) {
+        players.remove(uuid);
+    }
+
+    /**
+     * Czyści cooldown jednej komendy gracza.
+     */
+    public void clear(UUID uuid, int commandId) {
+        PlayerCooldowns state = getState(uuid);
+        if (state != null && commandId >= 0 && commandId < state.getCommandSlots()) {
+            state.commandExpiry[commandId] = 0L;
+        }
+    }
+
+    /**
+     * Czyści cooldowny wszystkich graczy w O(1) - stan starszej generacji jest
+     * traktowany jako pusty i nadpisywany przy następnym użyciu.
+     */
+    public void clearAll() {
+        generation++;
+        blocks.clear();
+        minecarts.clear();
+        trackedBlocks = 0;
+        blockTableBytes = 0;
+    }
+
+    /**
+     * Czyści cooldown jednej komendy u wszystkich graczy.
+     */
+    public void clearCommand(int commandId) {
+        for (UUID uuid : players.keySet()) {
+            clear(uuid, commandId);
+        }
+    }
+
+    // =========== ZRZUT / WCZYTANIE ===========
+
+    /**
+     * Spójny zrzut aktywnych cooldownów. Kopiuje tylko prymitywne tablice -
+     * wywoływać z głównego wątku, a zapis zrzutu wykonać asynchronicznie.
+     */
+    public CooldownSnapshot snapshot() {
+        long now = System.currentTimeMillis();
+        int gen = generation;
+        int commandCount = config.getCommandIdCount();
+
+        String[] commands = new String[commandCount];
+        for (int id = 0; id < commandCount; id++) {
+            commands[id] = config.getCommandName(id);
+        }
+
+        List<CooldownSnapshot.Entry> entries = new ArrayList<>(players.size());
+        for (Map.Entry<UUID, PlayerCooldowns> e : players.entrySet()) {
+            PlayerCooldowns state = e.getValue();
+            if (state.generation != gen) continue;
+
+            // Tylko aktywne pary (ID, czas) - bez kopii całej tablicy cooldownów gracza
+            CooldownSnapshot.Entry entry = CooldownSnapshot.Entry.of(e.getKey(), state.globalExpiry,
+                    state.commandExpiry, commandCount, now);
+            if (entry.globalExpiry() > now || entry.commandIds().length > 0) {
+                entries.add(entry);
+            }
+        }
+
+        return new CooldownSnapshot(now, commands, entries.toArray(new CooldownSnapshot.Entry[0]));
+    }
+
+    /**
+     * Stan graczy wczytany ze zrzutu przez {@link #read(InputStream)}, gotowy do nałożenia
+     * przez {@link #load(LoadedSnapshot)}.
+     */
+    public static final class LoadedSnapshot {
+
+        private final int generation;
+        private Map<UUID, PlayerCooldowns> players = Map.of();
+        private int count;
+        private int skippedCommands;
+
+        private LoadedSnapshot(int generation) {
+            this.generation = generation;
+        }
+
+        /**
+         * Liczba graczy z aktywnymi cooldownami.
+         */
+        public int getPlayers() {
+            return count;
+        }
+
+        /**
+         * Liczba komend ze zrzutu, które nie mają cooldownu w configu - ich cooldowny są pomijane.
+         */
+        public int getSkippedCommands() {
+            return skippedCommands;
+        }
+    }
+
+    /**
+     * Wczytuje zrzut ze strumienia i od razu buduje stan graczy, w jednym przejściu. Tablica
+     * cooldownów komend powstaje tylko dla gracza z aktywnym cooldownem komendy. Komendy bez
+     * cooldownu w configu są pomijane - nie dostają ID, więc obcy plik nie powiększa tablic graczy.
+     * Nie zmienia stanu menedżera - wywoływać poza głównym wątkiem.
+     *
+     * @throws IOException gdy plik nie jest poprawnym zrzutem
+     */
+    public LoadedSnapshot read(InputStream in) throws IOException {
+        LoadedSnapshot loaded = new LoadedSnapshot(generation);
+        CooldownSnapshot.read(in, new SnapshotReader(loaded));
+        return loaded;
+    }
+
+    // Buduje stan graczy z wpisów zrzutu - ID komend ze zrzutu mapowane na ID z configu albo -1
+    private final class SnapshotReader implements CooldownSnapshot.Visitor {
+
+        private final LoadedSnapshot loaded;
+        private final long now = System.currentTimeMillis();
+        private int[] ids;
+        private int slots;
+
+        private SnapshotReader(LoadedSnapshot loaded) {
+            this.loaded = loaded;
+        }
+
+        @Override
+        public void header(long createdAt, String[] commands, int entries) {
+            // Najpierw tablica reguł, potem liczba ID - reguły są publikowane dopiero po nadaniu ID
+            CommandTable rules = config.getRules();
+            slots = config.getCommandIdCount();
+
+            ids = new int[commands.length];
+            for (int i = 0; i < commands.length; i++) {
+                String name = commands[i];
+                int rule = rules.get(name, 0, name.length(), ConfigManager.RULE_UNKNOWN);
+                ids[i] = rule >= 0 && rule < slots ? rule : -1;
+                if (ids[i] < 0) loaded.skippedCommands++;
+            }
+
+            // Zadeklarowana liczba graczy tylko jako wskazówka - uszkodzony plik nie wymusi dużej mapy
+            loaded.players = new ConcurrentHashMap<>(Math.min(players.size() + entries, 1 << 20));
+        }
+
+        @Override
+        public void entry(UUID uuid, long globalExpiry, int[] commandIds, long[] commandExpiry, int active) {
+            long[] expiry = NO_COMMANDS;
+            for (int i = 0; i < active; i++) {
+                int id = ids[commandIds[i]];
+                if (id < 0 || commandExpiry[i] <= now) continue;
+                if (expiry == NO_COMMANDS) expiry = new long[slots];
+                expiry[id] = commandExpiry[i];
+            }
+
+            boolean global = globalExpiry > now;
+            if (!global && expiry == NO_COMMANDS) return;
+
+            PlayerCooldowns state = newState(uuid, loaded.generation);
+            if (global) state.globalExpiry = globalExpiry;
+            state.commandExpiry = expiry;
+            if (loaded.players.put(uuid, state) == null) loaded.count++;
+        }
+    }
+
+    /**
+     * Nakłada wczytany zrzut, nadpisując cooldowny graczy, którzy są w zrzucie. Pozostali gracze
+     * są dopisywani do mapy ze zrzutu, która zastępuje mapę stanu jednym zapisem.
+     * Po podmianie sprawdzany jest limit pamięci, więc część wczytanych graczy może zostać usunięta.
+     * Wywoływać z głównego wątku.
+     *
+     * @return liczba wczytanych graczy z aktywnymi cooldownami; 0, jeśli w trakcie odczytu
+     *         cooldowny zostały zresetowane
+     */
+    public int load(LoadedSnapshot snapshot) {
+        if (snapshot.generation != generation) return 0;
+
+        Map<UUID, PlayerCooldowns> loaded = snapshot.players;
+        for (Map.Entry<UUID, PlayerCooldowns> entry : players.entrySet()) {
+            PlayerCooldowns imported = loaded.putIfAbsent(entry.getKey(), entry.getValue());
+            // Profil mógł się zmienić w trakcie odczytu
+            if (imported != null) imported.profile = entry.getValue().profile;
+        }
+
+        players = loaded;
+        applyMemoryCap(null);
+        return snapshot.count;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package dev.nxms.commandcooldown.managers;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.api.CooldownService;
+
+import java.util.UUID;
+
+/**
+ * Implementacja publicznego API rejestrowana w ServicesManager.
+ * Zapytania czytają stan gracza raz na wywołanie i nie alokują.
+ */
+public class CooldownServiceImpl implements CooldownService {
+
+    private final ConfigManager config;
+    private final CooldownManager cooldowns;
+    private final TierManager tiers;
+
+    public CooldownServiceImpl(CommandCooldown plugin) {
+        this.config = plugin.getConfigManager();
+        this.cooldowns = plugin.getCooldownManager();
+        this.tiers = plugin.getTierManager();
+    }
+
+    @Override
+    public int getCommandHandle(String command) {
+        if (command == null) return UNKNOWN;
+        // Opublikowana tablica reguł zamiast mapy z configu - bezpieczne z każdego wątku i bez toLowerCase
+        int rule = config.resolveRule(command, 0, command.length());
+        return rule >= 0 ? rule : UNKNOWN;
+    }
+
+    @Override
+    public String getCommandName(int handle) {
+        return handle >= 0 && handle < config.getCommandIdCount() ? config.getCommandName(handle) : null;
+    }
+
+    @Override
+    public int getCooldownSeconds(UUID player, int handle) {
+        if (handle < GLOBAL) return 0;
+        return config.getTierTable().getSeconds(tiers.getProfile(player), handle);
+    }
+
+    @Override
+    public long getRemainingMillis(UUID player, int handle) {
+        return remaining(cooldowns.getState(player), handle, System.currentTimeMillis());
+    }
+
+    @Override
+    public void getRemainingMillis(UUID[] players, int handle, long[] out) {
+        checkLength(players.length, out);
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < players.length; i++) {
+            out[i] = remaining(cooldowns.getState(players[i]), handle, now);
+        }
+    }
+
+    @Override
+    public void getRemainingMillis(UUID player, int[] handles, long[] out) {
+        checkLength(handles.length, out);
+
+        long now = System.currentTimeMillis();
+        CooldownManager.PlayerCooldowns state = cooldowns.getState(player);
+        for (int i = 0; i < handles.length; i++) {
+            out[i] = remaining(state, handles[i], now);
+        }
+    }
+
+    @Override
+    public void setRemainingMillis(UUID player, int handle, long duration) {
+        if (handle < GLOBAL || handle >= config.getCommandIdCount()) {
+            throw new IllegalArgumentException("Unknown command handle: " + handle);
+        }
+        cooldowns.setExpiry(player, handle, duration > 0 ? System.currentTimeMillis() + duration : 0L);
+    }
+
+    private static long remaining(CooldownManager.PlayerCooldowns state, int handle, long now) {
+        if (state == null || handle < GLOBAL) return 0;
+
+        long expiry = handle == GLOBAL ? state.getGlobalExpiry() : state.getCommandExpiry(handle);
+        return Math.max(0, expiry - now);
+    }
+
+    private static void checkLength(int length, long[] out) {
+        if (out.length < length) {
+            throw new IllegalArgumentException("Output array too short: " + out.length + " < " + length);
+        }
+    }
+}
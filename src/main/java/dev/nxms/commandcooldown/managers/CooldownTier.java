@@ -0,0 +1,89 @@
+package dev.nxms.commandcooldown.managers;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tier cooldownów z sekcji tiers w config.yml (np. VIP, administracja).
+ * Gracz dostaje tier o najwyższym priorytecie, do którego ma permisję.
+ *
+ * @param name       Nazwa tieru (klucz w configu)
+ * @param permission Permisja tieru, domyślnie commandcooldown.tier.&lt;nazwa&gt;
+ * @param priority   Wyższy priorytet wygrywa, gdy gracz ma kilka tierów
+ * @param settings   Ustawienia tieru
+ * @param worlds     Ustawienia tieru w wybranych światach (nazwa świata -> ustawienia)
+ */
+public record CooldownTier(String name, String permission, int priority, Settings settings, Map<String, Settings> worlds) {
+
+    /**
+     * Ustawienia tieru albo tieru w jednym świecie.
+     *
+     * @param multiplier       Mnożnik cooldownów, które nie są nadpisane
+     * @param cooldownSeconds  Nadpisany globalny cooldown albo -1
+     * @param commandCooldowns Nadpisane cooldowny komend (bez "/")
+     */
+    public record Settings(double multiplier, int cooldownSeconds, Map<String, Integer> commandCooldowns) {
+
+        /**
+         * Globalny cooldown tieru dla bazowego cooldownu z configu.
+         */
+        int global(int base) {
+            return cooldownSeconds >= 0 ? cooldownSeconds : scale(base);
+        }
+
+        /**
+         * Cooldown komendy tieru dla bazowego cooldownu z configu.
+         */
+        int command(String command, int base) {
+            Integer override = commandCooldowns.get(command);
+            return override != null ? override : scale(base);
+        }
+
+        // Co najmniej 1s, żeby mały mnożnik nie wyłączał cooldownu
+        private int scale(int base) {
+            if (base <= 0 || multiplier <= 0) return 0;
+            return (int) Math.max(1, Math.round(base * multiplier));
+        }
+
+        // Brakujące wartości są brane z ustawień nadrzędnych
+        private static Settings read(ConfigurationSection section, Settings parent) {
+            double multiplier = Math.max(0, section.getDouble("multiplier", parent.multiplier));
+            int cooldownSeconds = section.contains("cooldown-seconds")
+                    ? Math.max(0, section.getInt("cooldown-seconds", 0))
+                    : parent.cooldownSeconds;
+
+            Map<String, Integer> commands = new HashMap<>(parent.commandCooldowns);
+            ConfigurationSection overrides = section.getConfigurationSection("command-cooldowns");
+            if (overrides != null) {
+                for (String key : overrides.getKeys(false)) {
+                    commands.put(key.toLowerCase(Locale.ROOT), Math.max(0, overrides.getInt(key, 0)));
+                }
+            }
+            return new Settings(multiplier, cooldownSeconds, commands);
+        }
+    }
+
+    private static final Settings DEFAULTS = new Settings(1.0, -1, Map.of());
+
+    static CooldownTier read(String name, ConfigurationSection section) {
+        name = name.toLowerCase(Locale.ROOT);
+        String permission = section.getString("permission", "commandcooldown.tier." + name);
+        int priority = section.getInt("priority", 0);
+        Settings settings = Settings.read(section, DEFAULTS);
+
+        Map<String, Settings> worlds = new HashMap<>();
+        ConfigurationSection worldsSection = section.getConfigurationSection("worlds");
+        if (worldsSection != null) {
+            for (String world : worldsSection.getKeys(false)) {
+                ConfigurationSection worldSection = worldsSection.getConfigurationSection(world);
+                if (worldSection != null) {
+                    worlds.put(world, Settings.read(worldSection, settings));
+                }
+            }
+        }
+        return new CooldownTier(name, permission, priority, settings, worlds);
+    }
+}
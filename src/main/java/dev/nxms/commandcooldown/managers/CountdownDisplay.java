@@ -0,0 +1,223 @@
+package dev.nxms.commandcooldown.managers;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.utils.LongMap;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Odliczanie aktywnego cooldownu na pasku akcji albo pasku bossa.
+ * Jedno zadanie co tick (tylko przy włączonym odliczaniu) przechodzi tylko po graczach z aktywnym cooldownem
+ * i wysyła nowy tekst dopiero, gdy zmieni się wyświetlana sekunda. Gotowe
+ * komponenty są trzymane per język, komenda i liczba sekund. Tylko z głównego wątku.
+ */
+public class CountdownDisplay implements Runnable {
+
+    // Limit zapamiętanych komponentów na język - po przekroczeniu cache jest czyszczony
+    private static final int MAX_CACHED = 4096;
+
+    private static final String[] GLOBAL_PLACEHOLDERS = {"remaining"};
+    private static final String[] COMMAND_PLACEHOLDERS = {"remaining", "command"};
+
+    private final CommandCooldown plugin;
+    private final ConfigManager config;
+    private final CooldownManager cooldowns;
+    private final MessageManager messages;
+
+    // Gracze z odliczaniem: lista do przejścia co tick, mapa do wyszukania
+    private final List<Countdown> active = new ArrayList<>();
+    private final Map<UUID, Countdown> byPlayer = new HashMap<>();
+
+    // Język -> (reguła << 32 | sekundy) -> komponent
+    private final Map<MessageBundle, LongMap<Component>> components = new IdentityHashMap<>();
+
+    private boolean bossBar;
+
+    // Zadanie co tick albo null, gdy odliczanie jest wyłączone
+    private BukkitTask task;
+
+    public CountdownDisplay(CommandCooldown plugin) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+        this.cooldowns = plugin.getCooldownManager();
+        this.messages = plugin.getMessageManager();
+        this.bossBar = config.isCountdownBossBar();
+    }
+
+    private static final class Countdown {
+        private final Player player;
+        private final UUID uuid;
+        private int rule;
+        private long duration;
+        private long shownSeconds = -1;
+        private BossBar bar;
+
+        private Countdown(Player player) {
+            this.player = player;
+            this.uuid = player.getUniqueId();
+        }
+    }
+
+    /**
+     * Uruchamia zadanie co tick, jeśli odliczanie jest włączone w configu.
+     */
+    public void start() {
+        updateTask();
+    }
+
+    // Zadanie działa tylko przy włączonym odliczaniu - włączane i wyłączane przy przeładowaniu
+    private void updateTask() {
+        if (config.isCountdown()) {
+            if (task == null) {
+                task = plugin.getServer().getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+            }
+        } else if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Pokazuje odliczanie cooldownu reguły, zastępując poprzednie. Nie alokuje dla gracza,
+     * który już ma odliczanie.
+     *
+     * @param rule     ID komendy albo {@link ConfigManager#RULE_GLOBAL}
+     * @param duration Pełna długość cooldownu w ms (pasek bossa)
+     */
+    public void show(Player player, int rule, long duration) {
+        if (!config.isCountdown()) return;
+
+        Countdown countdown = byPlayer.get(player.getUniqueId());
+        if (countdown == null) {
+            countdown = new Countdown(player);
+            byPlayer.put(countdown.uuid, countdown);
+            active.add(countdown);
+        } else if (countdown.rule == rule && countdown.duration >= duration) {
+            return;
+        }
+
+        countdown.rule = rule;
+        countdown.duration = Math.max(duration, 1L);
+        countdown.shownSeconds = -1;
+    }
+
+    public void remove(UUID uuid) {
+        Countdown countdown = byPlayer.remove(uuid);
+        if (countdown != null) {
+            active.remove(countdown);
+            hide(countdown);
+        }
+    }
+
+    /**
+     * Po przeładowaniu: nowe wiadomości, tryb wyświetlania i uruchomienie lub zatrzymanie zadania.
+     */
+    public void reload() {
+        components.clear();
+
+        boolean newBossBar = config.isCountdownBossBar();
+        if (!config.isCountdown() || newBossBar != bossBar) {
+            for (Countdown countdown : active) {
+                hide(countdown);
+                countdown.shownSeconds = -1;
+            }
+            if (!config.isCountdown()) {
+                active.clear();
+                byPlayer.clear();
+            }
+        }
+        bossBar = newBossBar;
+        updateTask();
+    }
+
+    @Override
+    public void run() {
+        if (active.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        for (int i = active.size() - 1; i >= 0; i--) {
+            Countdown countdown = active.get(i);
+            long remaining = remaining(countdown, now);
+
+            if (remaining <= 0 || !countdown.player.isOnline()) {
+                // Zamiana z ostatnim - usuwanie bez przesuwania listy
+                Countdown last = active.remove(active.size() - 1);
+                if (last != countdown) active.set(i, last);
+                byPlayer.remove(countdown.uuid);
+                hide(countdown);
+                continue;
+            }
+
+            long seconds = (remaining + 999) / 1000;
+            if (seconds == countdown.shownSeconds) continue;
+            countdown.shownSeconds = seconds;
+
+            Component text = component(countdown, seconds);
+            if (!bossBar) {
+                countdown.player.sendActionBar(text);
+                continue;
+            }
+
+            float progress = (float) Math.min(1.0, (double) remaining / countdown.duration);
+            if (countdown.bar == null) {
+                countdown.bar = BossBar.bossBar(text, progress, BossBar.Color.RED, BossBar.Overlay.PROGRESS);
+                countdown.player.showBossBar(countdown.bar);
+            } else {
+                countdown.bar.name(text);
+                countdown.bar.progress(progress);
+            }
+        }
+    }
+
+    // Pozostały czas z aktualnego stanu - uwzględnia eskalację, reset i zmiany przez API
+    private long remaining(Countdown countdown, long now) {
+        CooldownManager.PlayerCooldowns state = cooldowns.getState(countdown.uuid);
+        if (state == null) return 0;
+
+        long expiry = countdown.rule == ConfigManager.RULE_GLOBAL
+                ? state.getGlobalExpiry()
+                : state.getCommandExpiry(countdown.rule);
+        return expiry - now;
+    }
+
+    private Component component(Countdown countdown, long seconds) {
+        MessageBundle bundle = messages.getBundle(countdown.player);
+        LongMap<Component> cache = components.get(bundle);
+        if (cache == null) {
+            cache = new LongMap<>(64);
+            components.put(bundle, cache);
+        }
+
+        long key = ((long) countdown.rule << 32) | seconds;
+        Component text = cache.get(key);
+        if (text != null) return text;
+
+        if (cache.size() >= MAX_CACHED) cache.clear();
+
+        String rendered = countdown.rule == ConfigManager.RULE_GLOBAL
+                ? messages.getTemplate(countdown.player, "countdown", GLOBAL_PLACEHOLDERS).render(seconds)
+                : messages.getTemplate(countdown.player, "countdown-command", COMMAND_PLACEHOLDERS)
+                        .render(seconds, config.getCommandName(countdown.rule));
+        text = messages.toComponent(rendered);
+        cache.put(key, text);
+        return text;
+    }
+
+    private void hide(Countdown countdown) {
+        if (countdown.bar != null) {
+            countdown.player.hideBossBar(countdown.bar);
+            countdown.bar = null;
+        } else if (countdown.shownSeconds > 0 && countdown.player.isOnline()) {
+            countdown.player.sendActionBar(Component.empty());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dev.nxms.commandcooldown.managers;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.utils.SpaceSaving;
+
+import java.util.UUID;
+
+/**
+ * Gracze i komendy z największą liczbą zablokowanych komend (/cc top).
+ * Dwa szkice Space-Saving o stałym rozmiarze - pamięć nie rośnie z liczbą graczy.
+ * Liczniki są dzielone na pół co okres półtrwania, więc dawny spam przestaje się liczyć.
+ * Tylko z głównego wątku.
+ */
+public class HeavyHitters {
+
+    private final ConfigManager config;
+
+    private SpaceSaving players;
+    private SpaceSaving commands;
+    private long lastDecay = System.currentTimeMillis();
+
+    public HeavyHitters(CommandCooldown plugin) {
+        this.config = plugin.getConfigManager();
+        this.players = new SpaceSaving(config.getTopCapacity());
+        this.commands = new SpaceSaving(config.getTopCapacity());
+    }
+
+    /**
+     * Zapisuje zablokowaną komendę. Nie alokuje.
+     *
+     * @param rule ID komendy albo {@link ConfigManager#RULE_GLOBAL}
+     */
+    public void record(UUID uuid, int rule) {
+        if (!config.isTop()) return;
+
+        update();
+        players.add(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        commands.add(0L, rule);
+    }
+
+    public SpaceSaving getPlayers() {
+        update();
+        return players;
+    }
+
+    public SpaceSaving getCommands() {
+        update();
+        return commands;
+    }
+
+    /**
+     * Szacowany rozmiar obu szkiców w bajtach.
+     */
+    public long estimateBytes() {
+        return players.estimateBytes() + commands.estimateBytes();
+    }
+
+    // Rozmiar z configu i zaległe połowienie liczników
+    private void update() {
+        if (players.capacity() != config.getTopCapacity()) {
+            players = new SpaceSaving(config.getTopCapacity());
+            commands = new SpaceSaving(config.getTopCapacity());
+        }
+
+        long halfLife = config.getTopHalfLifeSeconds() * 1000L;
+        long now = System.currentTimeMillis();
+        long elapsed = now - lastDecay;
+        if (elapsed < halfLife) return;
+
+        int times = (int) Math.min(64, elapsed / halfLife);
+        players.decay(times);
+        commands.decay(times);
+        lastDecay += times == 64 ? elapsed : times * halfLife;
+    }
+}
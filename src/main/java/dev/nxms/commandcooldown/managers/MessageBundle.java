@@ -0,0 +1,58 @@
+package dev.nxms.commandcooldown.managers;
+
+import dev.nxms.commandcooldown.utils.MessageTemplate;
+
+import java.util.List;
+
+/**
+ * Messages of one language, stored in arrays indexed by message ID.
+ * Own values come from the language file; resolved values already have
+ * config placeholders (like {prefix}) replaced and fall back to English.
+ */
+public final class MessageBundle {
+
+    private final String language;
+
+    // Values from the language file (null = missing), indexed by message ID
+    private final String[] own;
+    private final List<String>[] ownLists;
+
+    // Resolved values, filled by MessageManager after all bundles are loaded
+    String[] resolved = new String[0];
+    List<String>[] resolvedLists;
+    MessageTemplate[] templates = new MessageTemplate[0];
+
+    MessageBundle(String language, String[] own, List<String>[] ownLists) {
+        this.language = language;
+        this.own = own;
+        this.ownLists = ownLists;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    String own(int id) {
+        return id < own.length ? own[id] : null;
+    }
+
+    List<String> ownList(int id) {
+        return id < ownLists.length ? ownLists[id] : null;
+    }
+
+    /**
+     * Resolved message, or null if neither this language nor English has it.
+     */
+    public String get(int id) {
+        String[] values = resolved;
+        return id >= 0 && id < values.length ? values[id] : null;
+    }
+
+    /**
+     * Resolved list, or null if neither this language nor English has it.
+     */
+    public List<String> getList(int id) {
+        List<String>[] values = resolvedLists;
+        return id >= 0 && id < values.length ? values[id] : null;
+    }
+}
@@ -1,34 +1,58 @@
 package dev.nxms.commandcooldown.managers;
 
 import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.utils.MemoryEstimate;
+import dev.nxms.commandcooldown.utils.MessageTemplate;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.command.CommandSender;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * Manages plugin messages and translations.
- * Supports multiple languages, modular prefixes, and placeholder replacement.
+ * All messages_*.yml files are loaded at startup into {@link MessageBundle}s indexed by message ID,
+ * with English as the fallback. Each player gets the bundle matching their client locale.
  */
 public class MessageManager {
 
+    private static final String FALLBACK_LANGUAGE = "en";
+
     private final CommandCooldown plugin;
     private final LegacyComponentSerializer legacy = LegacyComponentSerializer.legacyAmpersand();
 
-    private FileConfiguration messages;
+    // Message IDs (append-only): key -> index in bundle arrays
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] keys = new String[0];
+
+    // Loaded bundles (indexes never change) and language -> bundle index
+    private volatile MessageBundle[] bundles = new MessageBundle[0];
+    private final Map<String, Integer> bundleIndex = new ConcurrentHashMap<>();
+    private volatile int defaultBundle;
+    private volatile int fallbackBundle;
+
+    // Bundle index per online player, chosen from the client locale on join
+    private final Map<UUID, Integer> playerBundles = new ConcurrentHashMap<>();
+
     private String language;
 
     // Pattern to match {placeholder} format
@@ -40,41 +64,220 @@ public class MessageManager {
     }
 
     /**
-     * Loads/reloads messages from the appropriate language file.
+     * Loads/reloads all language files from the plugin folder.
      */
     public void reload() {
         // Save default message file if exists in JAR
         saveDefaultMessages("messages_en.yml");
 
-        // Load configured language
-        language = plugin.getConfigManager().getLanguage().toLowerCase();
-        String fileName = "messages_" + language + ".yml";
-        File file = new File(plugin.getDataFolder(), fileName);
+        List<MessageBundle> parsed = new ArrayList<>();
+        File[] files = plugin.getDataFolder().listFiles((dir, name) -> isMessagesFile(name));
+        if (files != null) {
+            for (File file : files) {
+                parsed.add(parse(file.getName()));
+            }
+        }
+        if (parsed.stream().noneMatch(b -> b.getLanguage().equals(FALLBACK_LANGUAGE))) {
+            parsed.add(parse("messages_en.yml"));
+        }
 
-        // Fallback to English if selected language doesn't exist
-        if (!file.exists()) {
-            plugin.getLogger().warning("Messages file " + fileName + " not found! Using messages_en.yml.");
-            fileName = "messages_en.yml";
-            file = new File(plugin.getDataFolder(), fileName);
+        install(parsed);
+        updateDefaultLanguage();
 
-            // Create English file if it doesn't exist
-            if (!file.exists() && plugin.getResource("messages_en.yml") != null) {
-                plugin.saveResource("messages_en.yml", false);
-            }
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            updatePlayerLocale(player);
+        }
+
+        plugin.getLogger().info("Messages have been loaded (" + bundleIndex.keySet() + ", default: " + language + ").");
+    }
+
+    /**
+     * Selects the default bundle (console, players without a matching locale) from config.yml.
+     */
+    public void updateDefaultLanguage() {
+        language = plugin.getConfigManager().getLanguage().toLowerCase(Locale.ROOT);
+
+        Integer index = bundleIndex.get(language);
+        if (index == null) {
+            plugin.getLogger().warning("Messages file messages_" + language + ".yml not found! Using messages_en.yml.");
+            index = fallbackBundle;
         }
+        defaultBundle = index;
+    }
+
+    /**
+     * Checks if a file name looks like a language file (messages_xx.yml).
+     */
+    public static boolean isMessagesFile(String fileName) {
+        return fileName.startsWith("messages_") && fileName.endsWith(".yml") && fileName.length() > 13;
+    }
 
-        messages = YamlConfiguration.loadConfiguration(file);
+    private static String languageOf(String fileName) {
+        return fileName.substring(9, fileName.length() - 4).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses a messages file from the data folder, with defaults from the JAR.
+     * Only reads files, so it is safe to call off the main thread.
+     */
+    public MessageBundle parse(String fileName) {
+        File file = new File(plugin.getDataFolder(), fileName);
+        YamlConfiguration fileConfig = file.exists() ? YamlConfiguration.loadConfiguration(file) : null;
 
         // Load defaults from JAR
+        YamlConfiguration defaults = null;
         InputStream defaultStream = plugin.getResource(fileName);
         if (defaultStream != null) {
-            YamlConfiguration defaultConfig = YamlConfiguration.loadConfiguration(
-                    new InputStreamReader(defaultStream, StandardCharsets.UTF_8)
-            );
-            messages.setDefaults(defaultConfig);
+            defaults = YamlConfiguration.loadConfiguration(new InputStreamReader(defaultStream, StandardCharsets.UTF_8));
+        }
+
+        Set<String> fileKeys = new LinkedHashSet<>();
+        if (defaults != null) fileKeys.addAll(defaults.getKeys(false));
+        if (fileConfig != null) fileKeys.addAll(fileConfig.getKeys(false));
+
+        for (String key : fileKeys) {
+            intern(key);
+        }
+
+        int size = keys.length;
+        String[] own = new String[size];
+        @SuppressWarnings("unchecked")
+        List<String>[] ownLists = new List[size];
+
+        for (String key : fileKeys) {
+            YamlConfiguration source = fileConfig != null && fileConfig.contains(key) ? fileConfig : defaults;
+            int id = ids.get(key);
+            if (source.isList(key)) {
+                ownLists[id] = List.copyOf(source.getStringList(key));
+            } else if (!source.isConfigurationSection(key)) {
+                own[id] = source.getString(key);
+            }
+        }
+
+        return new MessageBundle(languageOf(fileName), own, ownLists);
+    }
+
+    /**
+     * Swaps in freshly parsed bundles. Cached templates are kept for every entry
+     * whose resolved text did not change. Call from the main thread.
+     *
+     * @return Number of changed entries across all bundles
+     */
+    public int applyChanges(List<MessageBundle> parsed) {
+        int changes = install(parsed);
+        if (!bundleIndex.containsKey(language)) {
+            updateDefaultLanguage();
+        }
+        return changes;
+    }
+
+    private int install(List<MessageBundle> parsed) {
+        MessageBundle[] previous = bundles;
+        MessageBundle[] updated = Arrays.copyOf(previous, previous.length + parsed.size());
+        int count = previous.length;
+
+        for (MessageBundle bundle : parsed) {
+            Integer index = bundleIndex.get(bundle.getLanguage());
+            if (index == null) {
+                index = count++;
+                bundleIndex.put(bundle.getLanguage(), index);
+            }
+            updated[index] = bundle;
+        }
+        updated = Arrays.copyOf(updated, count);
+
+        Integer fallback = bundleIndex.get(FALLBACK_LANGUAGE);
+        if (fallback == null) {
+            // No English file at all - use an empty bundle so lookups stay simple
+            fallback = count;
+            updated = Arrays.copyOf(updated, count + 1);
+            updated[fallback] = emptyBundle();
+            bundleIndex.put(FALLBACK_LANGUAGE, fallback);
+        }
+        fallbackBundle = fallback;
+
+        // Resolve every bundle: English may have changed, so fallbacks may have too
+        int changes = 0;
+        for (int i = 0; i < updated.length; i++) {
+            MessageBundle old = i < previous.length ? previous[i] : null;
+            changes += resolve(updated[i], updated[fallback], old);
         }
 
-        plugin.getLogger().info("Messages file has been loaded (" + fileName + ").");
+        bundles = updated;
+        return changes;
+    }
+
+    private MessageBundle emptyBundle() {
+        @SuppressWarnings("unchecked")
+        List<String>[] lists = new List[0];
+        return new MessageBundle(FALLBACK_LANGUAGE, new String[0], lists);
+    }
+
+    /**
+     * Fills resolved values of a bundle and reuses templates of unchanged entries from the old bundle.
+     *
+     * @return Number of entries that differ from the old bundle
+     */
+    private int resolve(MessageBundle bundle, MessageBundle fallback, MessageBundle old) {
+        String[] keySnapshot = keys;
+        int size = keySnapshot.length;
+
+        String[] resolved = new String[size];
+        @SuppressWarnings("unchecked")
+        List<String>[] lists = new List[size];
+        MessageTemplate[] templates = new MessageTemplate[size];
+
+        int changes = 0;
+        for (int id = 0; id < size; id++) {
+            String raw = rawOf(bundle, fallback, id);
+            if (raw != null && !raw.isEmpty()) {
+                Set<String> processedKeys = new HashSet<>();
+                processedKeys.add(keySnapshot[id]); // Prevent self-reference
+                resolved[id] = replaceConfigPlaceholders(raw, processedKeys, bundle, fallback);
+            }
+
+            List<String> rawList = bundle.ownList(id) != null ? bundle.ownList(id) : fallback.ownList(id);
+            if (rawList != null) {
+                List<String> resolvedList = new ArrayList<>(rawList.size());
+                for (String line : rawList) {
+                    resolvedList.add(replaceConfigPlaceholders(line, new HashSet<>(), bundle, fallback));
+                }
+                lists[id] = List.copyOf(resolvedList);
+            }
+
+            if (old == null) continue;
+            if (Objects.equals(resolved[id], old.get(id)) && Objects.equals(lists[id], old.getList(id))) {
+                if (id < old.templates.length) templates[id] = old.templates[id];
+            } else {
+                changes++;
+            }
+        }
+
+        bundle.resolved = resolved;
+        bundle.resolvedLists = lists;
+        bundle.templates = templates;
+        return changes;
+    }
+
+    private static String rawOf(MessageBundle bundle, MessageBundle fallback, int id) {
+        String own = bundle.own(id);
+        return own != null ? own : fallback.own(id);
+    }
+
+    private int intern(String key) {
+        Integer id = ids.get(key);
+        if (id != null) return id;
+
+        synchronized (ids) {
+            id = ids.get(key);
+            if (id != null) return id;
+
+            String[] updated = Arrays.copyOf(keys, keys.length + 1);
+            updated[updated.length - 1] = key;
+            keys = updated;
+            ids.put(key, updated.length - 1);
+            return updated.length - 1;
+        }
     }
 
     /**
@@ -89,25 +292,102 @@ public class MessageManager {
         }
     }
 
+    // ==================== PLAYER LOCALES ====================
+
+    /**
+     * Caches the bundle matching the player's client locale.
+     */
+    public void updatePlayerLocale(Player player) {
+        updatePlayerLocale(player.getUniqueId(), player.locale().getLanguage());
+    }
+
+    /**
+     * Caches the bundle for a language code or locale tag (e.g. "pl" or "pl_pl").
+     */
+    public void updatePlayerLocale(UUID uuid, String locale) {
+        int separator = locale.indexOf('_');
+        String lang = (separator >= 0 ? locale.substring(0, separator) : locale).toLowerCase(Locale.ROOT);
+
+        Integer index = bundleIndex.get(lang);
+        if (index != null) {
+            playerBundles.put(uuid, index);
+        } else {
+            playerBundles.remove(uuid);
+        }
+    }
+
+    public void removePlayer(UUID uuid) {
+        playerBundles.remove(uuid);
+    }
+
+    /**
+     * Estimated size of the per-player language map in bytes. UUIDs belong to the
+     * player objects and small Integers come from the JVM cache, so only map nodes count.
+     */
+    public long estimatePlayerBytes() {
+        return MemoryEstimate.hashMap(playerBundles.size());
+    }
+
+    public int getTrackedPlayers() {
+        return playerBundles.size();
+    }
+
+    /**
+     * Gets the bundle used for a sender: the player's locale if enabled, otherwise the default language.
+     */
+    public MessageBundle getBundle(CommandSender sender) {
+        MessageBundle[] loaded = bundles;
+        if (sender instanceof Player player && plugin.getConfigManager().isPerPlayerLanguage()) {
+            Integer index = playerBundles.get(player.getUniqueId());
+            if (index != null) return loaded[index];
+        }
+        return loaded[defaultBundle];
+    }
+
+    private MessageBundle defaultBundle() {
+        return bundles[defaultBundle];
+    }
+
+    /**
+     * Gets the ID of a message key, or -1 if no language file has it.
+     */
+    public int getId(String key) {
+        return ids.getOrDefault(key, -1);
+    }
+
+    // ==================== LOOKUP METHODS ====================
+
     /**
-     * Gets a raw message from config without any processing.
+     * Gets a raw message of the default language without any processing.
      */
     public String getRaw(String key) {
-        return messages.getString(key, "");
+        int id = getId(key);
+        if (id < 0) return "";
+        String raw = rawOf(defaultBundle(), bundles[fallbackBundle], id);
+        return raw != null ? raw : "";
     }
 
     /**
      * Checks if a key exists in the messages config.
      */
     public boolean hasKey(String key) {
-        return messages.contains(key) && !getRaw(key).isEmpty();
+        return !getRaw(key).isEmpty();
     }
 
     /**
-     * Gets a list of strings from config.
+     * Gets a list of strings from config, with config placeholders replaced.
      */
     public List<String> getList(String key) {
-        return messages.getStringList(key);
+        return getList(defaultBundle(), key);
+    }
+
+    public List<String> getList(CommandSender sender, String key) {
+        return getList(getBundle(sender), key);
+    }
+
+    private List<String> getList(MessageBundle bundle, String key) {
+        List<String> list = bundle.getList(getId(key));
+        return list != null ? list : List.of();
     }
 
     /**
@@ -115,7 +395,8 @@ public class MessageManager {
      * Only replaces placeholders that exist as keys in the config.
      * Prevents infinite recursion by tracking already processed keys.
      */
-    private String replaceConfigPlaceholders(String message, Set<String> processedKeys) {
+    private String replaceConfigPlaceholders(String message, Set<String> processedKeys,
+                                             MessageBundle bundle, MessageBundle fallback) {
         if (message == null || message.isEmpty()) {
             return message;
         }
@@ -134,7 +415,9 @@ public class MessageManager {
             }
 
             // Check if this placeholder exists in config
-            if (!hasKey(placeholder)) {
+            int id = getId(placeholder);
+            String value = id >= 0 ? rawOf(bundle, fallback, id) : null;
+            if (value == null || value.isEmpty()) {
                 // Keep original placeholder for custom placeholders like {player}, {time}
                 matcher.appendReplacement(result, Matcher.quoteReplacement(fullMatch));
                 continue;
@@ -144,9 +427,8 @@ public class MessageManager {
             Set<String> newProcessedKeys = new HashSet<>(processedKeys);
             newProcessedKeys.add(placeholder);
 
-            // Get and recursively process the value
-            String value = getRaw(placeholder);
-            value = replaceConfigPlaceholders(value, newProcessedKeys);
+            // Recursively process the value
+            value = replaceConfigPlaceholders(value, newProcessedKeys, bundle, fallback);
 
             matcher.appendReplacement(result, Matcher.quoteReplacement(value));
         }
@@ -156,28 +438,64 @@ public class MessageManager {
     }
 
     /**
-     * Gets a formatted message with config placeholders replaced.
+     * Gets a formatted message of the default language with config placeholders replaced.
      */
     public String get(String key) {
-        String message = getRaw(key);
-        if (message.isEmpty()) {
-            return "&cMissing message: " + key;
-        }
+        return get(defaultBundle(), key);
+    }
 
-        // Replace config placeholders (like {prefix}, {prefix-error}, etc.)
-        Set<String> processedKeys = new HashSet<>();
-        processedKeys.add(key); // Prevent self-reference
-        message = replaceConfigPlaceholders(message, processedKeys);
+    /**
+     * Gets a formatted message in the sender's language.
+     */
+    public String get(CommandSender sender, String key) {
+        return get(getBundle(sender), key);
+    }
 
-        return message;
+    private String get(MessageBundle bundle, String key) {
+        String message = bundle.get(getId(key));
+        return message != null ? message : "&cMissing message: " + key;
     }
 
     /**
      * Gets a formatted message with custom placeholders replaced.
      */
     public String get(String key, Map<String, String> placeholders) {
-        String message = get(key);
-        return applyPlaceholders(message, placeholders);
+        return applyPlaceholders(get(key), placeholders);
+    }
+
+    public String get(CommandSender sender, String key, Map<String, String> placeholders) {
+        return applyPlaceholders(get(sender, key), placeholders);
+    }
+
+    /**
+     * Gets a precompiled template for a message of the default language.
+     * Templates are cached per key until the entry changes, so {@code names} must be
+     * the same for every call with a given key.
+     */
+    public MessageTemplate getTemplate(String key, String... names) {
+        return getTemplate(defaultBundle(), key, names);
+    }
+
+    /**
+     * Gets a precompiled template for a message in the sender's language.
+     */
+    public MessageTemplate getTemplate(CommandSender sender, String key, String... names) {
+        return getTemplate(getBundle(sender), key, names);
+    }
+
+    private MessageTemplate getTemplate(MessageBundle bundle, String key, String... names) {
+        int id = getId(key);
+        MessageTemplate[] templates = bundle.templates;
+        if (id < 0 || id >= templates.length) {
+            return MessageTemplate.compile(get(bundle, key), names);
+        }
+
+        MessageTemplate template = templates[id];
+        if (template == null) {
+            template = MessageTemplate.compile(get(bundle, key), names);
+            templates[id] = template;
+        }
+        return template;
     }
 
     // ==================== SEND METHODS ====================
@@ -190,10 +508,10 @@ public class MessageManager {
     }
 
     /**
-     * Sends a message with placeholder replacements.
+     * Sends a message with placeholder replacements, in the sender's language.
      */
     public void send(CommandSender sender, String key, Map<String, String> placeholders) {
-        String msg = get(key, placeholders);
+        String msg = get(sender, key, placeholders);
         sender.sendMessage(toComponent(msg));
     }
 
@@ -217,7 +535,7 @@ public class MessageManager {
     // ==================== UTILITY METHODS ====================
 
     /**
-     * Gets the current language code.
+     * Gets the default language code.
      */
     public String getLanguage() {
         return language;
@@ -236,7 +554,7 @@ public class MessageManager {
     /**
      * Converts legacy text with color codes to Adventure Component.
      */
-    private Component toComponent(String legacyText) {
+    public Component toComponent(String legacyText) {
         return legacy.deserialize(legacyText);
     }
 
@@ -251,4 +569,4 @@ public class MessageManager {
         }
         return map;
     }
-}
\ No newline at end of file
+}
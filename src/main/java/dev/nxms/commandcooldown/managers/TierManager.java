@@ -0,0 +1,81 @@
+package dev.nxms.commandcooldown.managers;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.utils.MemoryEstimate;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Profil tieru graczy online, ustalany przy wejściu, zmianie świata i odświeżeniu permisji.
+ * Bajt profilu jest kopiowany do stanu gracza w CooldownManagerze - listener komend czyta go
+ * stamtąd, bez sprawdzania permisji i bez dodatkowego wyszukania w tej mapie.
+ */
+public class TierManager {
+
+    private final CommandCooldown plugin;
+    private final ConfigManager config;
+
+    // Tylko gracze z tierem - brak wpisu oznacza profil domyślny
+    private final Map<UUID, Byte> profiles = new ConcurrentHashMap<>();
+
+    public TierManager(CommandCooldown plugin) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+    }
+
+    /**
+     * Ustala na nowo profil gracza i zapisuje go też w stanie cooldownów. Wywoływać z głównego wątku.
+     */
+    public void update(Player player) {
+        UUID uuid = player.getUniqueId();
+        byte profile = config.getTierTable().resolve(player);
+        if (profile == TierTable.DEFAULT_PROFILE) {
+            profiles.remove(uuid);
+        } else {
+            profiles.put(uuid, profile);
+        }
+        plugin.getCooldownManager().updateProfile(uuid, profile);
+    }
+
+    /**
+     * Ustala na nowo profile wszystkich graczy online - po zmianie tierów w configu.
+     */
+    public void updateAll() {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            update(player);
+        }
+    }
+
+    public void remove(UUID uuid) {
+        profiles.remove(uuid);
+    }
+
+    /**
+     * Profil gracza do {@link TierTable#getSeconds(byte, int)}. Nie alokuje.
+     */
+    public byte getProfile(UUID uuid) {
+        Byte profile = profiles.get(uuid);
+        return profile != null ? profile : TierTable.DEFAULT_PROFILE;
+    }
+
+    /**
+     * Szacowany rozmiar mapy profili w bajtach (UUID należą do obiektów graczy, Byte są z cache JVM).
+     */
+    public long estimateBytes() {
+        return MemoryEstimate.hashMap(profiles.size());
+    }
+
+    public int getTrackedPlayers() {
+        return profiles.size();
+    }
+
+    /**
+     * Nazwa profilu gracza albo null, jeśli gracz nie ma tieru.
+     */
+    public String getProfileName(UUID uuid) {
+        return config.getTierTable().getProfileName(getProfile(uuid));
+    }
+}
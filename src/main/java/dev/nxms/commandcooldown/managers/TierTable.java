@@ -0,0 +1,142 @@
+package dev.nxms.commandcooldown.managers;
+
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Skompilowane tiery: każdy tier i każdy jego świat to profil o numerze 0-127
+ * (0 = bez tieru). Cooldowny wszystkich profili leżą w jednej płaskiej tablicy,
+ * więc efektywny cooldown to jeden odczyt z tablicy. Niezmienna - przy zmianie
+ * configu budowana jest nowa.
+ */
+public final class TierTable {
+
+    // Profil gracza bez tieru
+    public static final byte DEFAULT_PROFILE = 0;
+
+    private static final int MAX_PROFILES = Byte.MAX_VALUE + 1;
+
+    // Tiery posortowane od najwyższego priorytetu i ich profile
+    private final CooldownTier[] tiers;
+    private final byte[] tierProfiles;
+    private final Map<String, Byte>[] worldProfiles;
+
+    // Cooldowny w sekundach: [profil * stride + reguła + 1], reguła -1 to globalny
+    private final int[] seconds;
+    private final int stride;
+    private final String[] profileNames;
+    private final int skipped;
+
+    /**
+     * @param tiers            Tiery posortowane od najwyższego priorytetu
+     * @param globalSeconds    Bazowy globalny cooldown
+     * @param commandCooldowns Bazowe cooldowny komend (nazwa -> sekundy)
+     * @param commandIds       ID komend z cooldownem (nazwa -> ID)
+     * @param commandIdCount   Liczba nadanych ID komend
+     */
+    @SuppressWarnings("unchecked")
+    TierTable(List<CooldownTier> tiers, int globalSeconds, Map<String, Integer> commandCooldowns,
+              Map<String, Integer> commandIds, int commandIdCount) {
+        this.tiers = tiers.toArray(new CooldownTier[0]);
+        this.tierProfiles = new byte[this.tiers.length];
+        this.worldProfiles = new Map[this.tiers.length];
+        this.stride = commandIdCount + 1;
+
+        // Profil 0 i profil bazowy każdego tieru mają pierwszeństwo przed światami
+        int profiles = Math.min(MAX_PROFILES, 1 + this.tiers.length);
+        int worlds = 0;
+        for (CooldownTier tier : this.tiers) {
+            worlds += tier.worlds().size();
+        }
+        this.skipped = Math.max(0, 1 + this.tiers.length + worlds - MAX_PROFILES);
+        int total = Math.min(MAX_PROFILES, 1 + this.tiers.length + worlds);
+
+        this.seconds = new int[total * stride];
+        this.profileNames = new String[total];
+
+        fill(0, null, globalSeconds, commandCooldowns, commandIds);
+        for (int t = 0; t < this.tiers.length && t + 1 < profiles; t++) {
+            CooldownTier tier = this.tiers[t];
+            tierProfiles[t] = (byte) (t + 1);
+            profileNames[t + 1] = tier.name();
+            fill(t + 1, tier.settings(), globalSeconds, commandCooldowns, commandIds);
+        }
+
+        int next = profiles;
+        for (int t = 0; t < this.tiers.length; t++) {
+            Map<String, Byte> byWorld = new HashMap<>();
+            if (t + 1 < profiles) {
+                for (Map.Entry<String, CooldownTier.Settings> world : this.tiers[t].worlds().entrySet()) {
+                    if (next >= total) break;
+                    byWorld.put(world.getKey(), (byte) next);
+                    profileNames[next] = this.tiers[t].name() + "@" + world.getKey();
+                    fill(next, world.getValue(), globalSeconds, commandCooldowns, commandIds);
+                    next++;
+                }
+            }
+            worldProfiles[t] = byWorld;
+        }
+    }
+
+    static TierTable empty() {
+        return new TierTable(List.of(), 0, Map.of(), Map.of(), 0);
+    }
+
+    private void fill(int profile, CooldownTier.Settings settings, int globalSeconds,
+                      Map<String, Integer> commandCooldowns, Map<String, Integer> commandIds) {
+        int base = profile * stride;
+        seconds[base] = settings == null ? globalSeconds : settings.global(globalSeconds);
+        for (Map.Entry<String, Integer> entry : commandCooldowns.entrySet()) {
+            int id = commandIds.get(entry.getKey());
+            seconds[base + id + 1] = settings == null
+                    ? entry.getValue()
+                    : settings.command(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Ustala profil gracza na podstawie permisji i świata. Sprawdza permisje - wywoływać
+     * przy wejściu, zmianie świata i odświeżeniu permisji, nie przy każdej komendzie.
+     */
+    public byte resolve(Player player) {
+        for (int t = 0; t < tiers.length; t++) {
+            if (tierProfiles[t] == DEFAULT_PROFILE || !player.hasPermission(tiers[t].permission())) continue;
+
+            Byte world = worldProfiles[t].get(player.getWorld().getName());
+            return world != null ? world : tierProfiles[t];
+        }
+        return DEFAULT_PROFILE;
+    }
+
+    /**
+     * Cooldown w sekundach dla profilu i reguły.
+     *
+     * @param rule ID komendy albo {@link ConfigManager#RULE_GLOBAL}
+     */
+    public int getSeconds(byte profile, int rule) {
+        int slot = rule + 1;
+        int index = profile * stride + slot;
+        return slot < stride && index < seconds.length ? seconds[index] : 0;
+    }
+
+    public int getProfileCount() {
+        return profileNames.length;
+    }
+
+    /**
+     * Nazwa profilu ("tier" albo "tier@świat"), null dla profilu domyślnego.
+     */
+    public String getProfileName(byte profile) {
+        return profile > 0 && profile < profileNames.length ? profileNames[profile] : null;
+    }
+
+    /**
+     * Liczba profili pominiętych po przekroczeniu limitu 128.
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+}
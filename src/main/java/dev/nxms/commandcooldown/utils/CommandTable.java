@@ -0,0 +1,77 @@
+package dev.nxms.commandcooldown.utils;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Niezmienna tablica haszująca label komendy -> wartość (int), z adresowaniem otwartym.
+ * Wyszukiwanie działa na fragmencie tekstu bez tworzenia substringów i bez rozróżniania
+ * wielkości liter, więc nie alokuje.
+ */
+public final class CommandTable {
+
+    public static final CommandTable EMPTY = new CommandTable(Map.of());
+
+    private final String[] keys;
+    private final int[] values;
+    private final int mask;
+
+    /**
+     * @param entries Label (bez "/") -> wartość; klucze są zamieniane na małe litery
+     */
+    public CommandTable(Map<String, Integer> entries) {
+        int capacity = Integer.highestOneBit(Math.max(4, entries.size() * 2 - 1) << 1);
+        this.keys = new String[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            String key = entry.getKey().toLowerCase(Locale.ROOT);
+            int slot = hash(key, 0, key.length()) & mask;
+            while (keys[slot] != null && !keys[slot].equals(key)) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * Zwraca wartość dla labela {@code text[start, end)} albo {@code missing}, jeśli go nie ma.
+     */
+    public int get(CharSequence text, int start, int end, int missing) {
+        int slot = hash(text, start, end) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (matches(key, text, start, end)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missing;
+    }
+
+    public int size() {
+        int size = 0;
+        for (String key : keys) {
+            if (key != null) size++;
+        }
+        return size;
+    }
+
+    static int hash(CharSequence text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + Character.toLowerCase(text.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    static boolean matches(String key, CharSequence text, int start, int end) {
+        if (key.length() != end - start) return false;
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != Character.toLowerCase(text.charAt(start + i))) return false;
+        }
+        return true;
+    }
+}
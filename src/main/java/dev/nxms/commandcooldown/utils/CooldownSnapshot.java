@@ -0,0 +1,252 @@
+package dev.nxms.commandcooldown.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Zrzut stanu cooldownów i jego binarny format.
+ *
+ * <p>Format (wersja 1):
+ * <pre>
+ * "CCDS" | wersja (1 bajt) | czas bazowy (varlong)
+ * liczba komend (varint) | dla każdej: długość (varint) + nazwa UTF-8
+ * liczba graczy (varint)
+ * dla każdego gracza, posortowanego po UUID:
+ *   różnica mostSigBits od poprzedniego (varlong) | leastSigBits (8 bajtów)
+ *   globalny cooldown: ms ponad czas bazowy (varlong, 0 = brak)
+ *   liczba cooldownów komend (varint) | dla każdego: ID komendy (varint) + ms ponad czas bazowy (varlong)
+ * </pre>
+ * Zapisywane są tylko cooldowny, które w chwili zrzutu jeszcze trwają.
+ *
+ * <p>Odczyt jest strumieniowy ({@link #read(InputStream, Visitor)}) - wpisy trafiają
+ * prosto do odbiorcy, bez pośredniej tablicy wszystkich graczy.
+ */
+public final class CooldownSnapshot {
+
+    private static final byte[] MAGIC = {'C', 'C', 'D', 'S'};
+    private static final int VERSION = 1;
+
+    // Limity odczytu - uszkodzony plik nie może wymusić ogromnych alokacji
+    private static final int MAX_COMMANDS = 4096;
+    private static final int MAX_ENTRIES = 1 << 24;
+
+    private static final int[] NO_IDS = new int[0];
+    private static final long[] NO_EXPIRY = new long[0];
+
+    private final long createdAt;
+    private final String[] commands;
+    private final Entry[] entries;
+
+    /**
+     * Cooldowny jednego gracza: czasy wygaśnięcia (ms od epoki, 0 = brak globalnego)
+     * i pary {@code commandIds[i]} - {@code commandExpiry[i]}, gdzie ID to indeks w {@link #getCommands()}.
+     */
+    public record Entry(UUID uuid, long globalExpiry, int[] commandIds, long[] commandExpiry) {
+
+        /**
+         * Wpis z samych aktywnych cooldownów komend - pomija ID z czasem wygaśnięcia nie później niż {@code now}.
+         */
+        public static Entry of(UUID uuid, long globalExpiry, long[] expiry, int slots, long now) {
+            slots = Math.min(slots, expiry.length);
+            int active = 0;
+            for (int id = 0; id < slots; id++) {
+                if (expiry[id] > now) active++;
+            }
+            if (active == 0) return new Entry(uuid, globalExpiry, NO_IDS, NO_EXPIRY);
+
+            int[] ids = new int[active];
+            long[] values = new long[active];
+            int next = 0;
+            for (int id = 0; id < slots; id++) {
+                if (expiry[id] <= now) continue;
+                ids[next] = id;
+                values[next++] = expiry[id];
+            }
+            return new Entry(uuid, globalExpiry, ids, values);
+        }
+    }
+
+    /**
+     * Odbiorca zrzutu wczytywanego przez {@link #read(InputStream, Visitor)}.
+     */
+    public interface Visitor {
+
+        /**
+         * Nagłówek - wywoływany raz, przed wpisami.
+         *
+         * @param commands Nazwy komend, indeksowane ID komend ze zrzutu
+         * @param entries  Zadeklarowana liczba graczy
+         */
+        void header(long createdAt, String[] commands, int entries);
+
+        /**
+         * Jeden gracz. Tablice są współdzielone między wywołaniami - ważne jest tylko pierwsze
+         * {@code active} par i tylko do końca wywołania.
+         */
+        void entry(UUID uuid, long globalExpiry, int[] commandIds, long[] commandExpiry, int active);
+    }
+
+    public CooldownSnapshot(long createdAt, String[] commands, Entry[] entries) {
+        this.createdAt = createdAt;
+        this.commands = commands;
+        this.entries = entries;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public String[] getCommands() {
+        return commands;
+    }
+
+    public Entry[] getEntries() {
+        return entries;
+    }
+
+    // =========== ZAPIS ===========
+
+    /**
+     * Zapisuje zrzut do strumienia. Sortuje wpisy po UUID, więc może trwać -
+     * wywoływać poza głównym wątkiem.
+     */
+    public void writeTo(OutputStream stream) throws IOException {
+        Arrays.sort(entries, Comparator.comparing(Entry::uuid));
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        writeVarLong(out, createdAt);
+
+        writeVarLong(out, commands.length);
+        for (String command : commands) {
+            byte[] bytes = command.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, bytes.length);
+            out.write(bytes);
+        }
+
+        writeVarLong(out, entries.length);
+        long previousMsb = Long.MIN_VALUE;
+        for (Entry entry : entries) {
+            long msb = entry.uuid().getMostSignificantBits();
+            writeVarLong(out, msb - previousMsb);
+            out.writeLong(entry.uuid().getLeastSignificantBits());
+            previousMsb = msb;
+
+            writeVarLong(out, delta(entry.globalExpiry()));
+
+            int[] ids = entry.commandIds();
+            long[] expiry = entry.commandExpiry();
+            int active = 0;
+            for (long e : expiry) {
+                if (e > createdAt) active++;
+            }
+            writeVarLong(out, active);
+            for (int i = 0; i < ids.length; i++) {
+                if (expiry[i] <= createdAt) continue;
+                writeVarLong(out, ids[i]);
+                writeVarLong(out, expiry[i] - createdAt);
+            }
+        }
+        out.flush();
+    }
+
+    private long delta(long expiry) {
+        return expiry > createdAt ? expiry - createdAt : 0L;
+    }
+
+    // =========== ODCZYT ===========
+
+    /**
+     * Wczytuje zrzut ze strumienia, przekazując wpisy po kolei do odbiorcy. Poza nazwami komend
+     * alokuje tylko UUID wpisów, więc pamięć zależy od odbiorcy, nie od rozmiaru pliku.
+     *
+     * @throws IOException gdy dane nie są zrzutem cooldownów, mają nieobsługiwaną wersję lub są uszkodzone
+     */
+    public static void read(InputStream stream, Visitor visitor) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a cooldown snapshot");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        long createdAt = readVarLong(in);
+
+        String[] commands = new String[readCount(in, MAX_COMMANDS)];
+        for (int i = 0; i < commands.length; i++) {
+            // readNBytes rośnie z faktycznie wczytanymi danymi - ucięty plik kończy się EOF, nie dużą tablicą
+            int length = readCount(in, Integer.MAX_VALUE - 8);
+            byte[] bytes = in.readNBytes(length);
+            if (bytes.length != length) throw new EOFException();
+            commands[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int count = readCount(in, MAX_ENTRIES);
+        visitor.header(createdAt, commands, count);
+
+        int[] ids = new int[commands.length];
+        long[] expiry = new long[commands.length];
+        long msb = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            msb += readVarLong(in);
+            UUID uuid = new UUID(msb, in.readLong());
+
+            long global = readVarLong(in);
+            int active = readCount(in, commands.length);
+            for (int c = 0; c < active; c++) {
+                int id = readCount(in, commands.length);
+                if (id >= commands.length) {
+                    throw new IOException("Invalid command id " + id);
+                }
+                ids[c] = id;
+                expiry[c] = createdAt + readVarLong(in);
+            }
+
+            visitor.entry(uuid, global > 0 ? createdAt + global : 0L, ids, expiry, active);
+        }
+    }
+
+    // =========== VARINT ===========
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static int readCount(DataInputStream in, int max) throws IOException {
+        long value = readVarLong(in);
+        if (value < 0 || value > max) {
+            throw new IOException("Invalid length " + value);
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,80 @@
+package dev.nxms.commandcooldown.utils;
+
+import java.util.Arrays;
+
+/**
+ * Ograniczony cache label komendy -> wartość (int), z adresowaniem otwartym.
+ * Wyszukiwanie jak w {@link CommandTable}: na fragmencie tekstu, bez rozróżniania
+ * wielkości liter i bez alokacji. Po osiągnięciu limitu wpisów cache jest czyszczony
+ * w całości. Klasa nie jest bezpieczna wątkowo.
+ */
+public final class LabelCache {
+
+    private final String[] keys;
+    private final int[] values;
+    private final int mask;
+    private final int maxSize;
+    private int size;
+
+    public LabelCache(int maxSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, maxSize * 2 - 1) << 1);
+        this.keys = new String[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Zwraca wartość dla labela {@code text[start, end)} albo {@code missing}, jeśli go nie ma.
+     */
+    public int get(CharSequence text, int start, int end, int missing) {
+        int slot = CommandTable.hash(text, start, end) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (CommandTable.matches(key, text, start, end)) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missing;
+    }
+
+    /**
+     * @param key Label małymi literami, bez "/"
+     */
+    public void put(String key, int value) {
+        if (size >= maxSize) clear();
+
+        int slot = CommandTable.hash(key, 0, key.length()) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Szacowany rozmiar cache w bajtach, razem z zapamiętanymi labelami.
+     */
+    public long estimateBytes() {
+        long bytes = MemoryEstimate.referenceArray(keys.length) + MemoryEstimate.intArray(values.length);
+        for (String key : keys) {
+            if (key != null) bytes += MemoryEstimate.string(key.length());
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,117 @@
+package dev.nxms.commandcooldown.utils;
+
+import java.util.function.Predicate;
+
+/**
+ * Mapa long -> obiekt z adresowaniem otwartym, bez opakowywania kluczy w Long.
+ * Odczyt i zapis istniejącego klucza nie alokują. Usuwanie tylko hurtowo przez
+ * {@link #removeIf}. Klasa nie jest bezpieczna wątkowo.
+ */
+public final class LongMap<V> {
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public LongMap(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Szacowany rozmiar tablic mapy w bajtach (bez wartości).
+     */
+    public long estimateBytes() {
+        return MemoryEstimate.longArray(keys.length) + MemoryEstimate.referenceArray(values.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = hash(key) & mask;
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) return (V) value;
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public void put(long key, V value) {
+        if (value == null) throw new IllegalArgumentException("null value");
+
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 4 > values.length * 3) {
+            rebuild(values.length * 2, null);
+        }
+    }
+
+    /**
+     * Usuwa wpisy spełniające warunek, przebudowując tablicę.
+     *
+     * @return Liczba usuniętych wpisów
+     */
+    public int removeIf(Predicate<V> filter) {
+        int before = size;
+        rebuild(tableSize(size), filter);
+        return before - size;
+    }
+
+    public void clear() {
+        allocate(tableSize(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild(int capacity, Predicate<V> filter) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value == null || (filter != null && filter.test((V) value))) continue;
+
+            int slot = hash(oldKeys[i]) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = value;
+            size++;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private static int tableSize(int expectedSize) {
+        return Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1) << 1);
+    }
+
+    // Mieszanie bitów (finalizer MurmurHash3) - spakowane pozycje mają mało zmienne dolne bity
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,55 @@
+package dev.nxms.commandcooldown.utils;
+
+/**
+ * Szacowanie rozmiaru obiektów na stercie 64-bitowej JVM ze skompresowanymi
+ * wskaźnikami (domyślnie dla sterty poniżej 32 GB): nagłówek obiektu 12 B,
+ * nagłówek tablicy 16 B, referencja 4 B, wyrównanie do 8 B.
+ */
+public final class MemoryEstimate {
+
+    public static final int OBJECT_HEADER = 12;
+    public static final int ARRAY_HEADER = 16;
+    public static final int REFERENCE = 4;
+
+    // java.util.UUID: nagłówek + dwa pola long
+    public static final long UUID = align(OBJECT_HEADER + 16);
+
+    // Węzeł ConcurrentHashMap/HashMap: nagłówek + hash + klucz, wartość, następny
+    public static final long MAP_NODE = align(OBJECT_HEADER + 4 + 3 * REFERENCE);
+
+    private MemoryEstimate() {
+    }
+
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    public static long longArray(int length) {
+        return align(ARRAY_HEADER + 8L * length);
+    }
+
+    public static long intArray(int length) {
+        return align(ARRAY_HEADER + 4L * length);
+    }
+
+    public static long referenceArray(int length) {
+        return align(ARRAY_HEADER + (long) REFERENCE * length);
+    }
+
+    /**
+     * String Latin-1 (obiekt + tablica bajtów) - tak są trzymane labele i nazwy komend.
+     */
+    public static long string(int length) {
+        return align(OBJECT_HEADER + 4 + 4 + 1 + 1 + REFERENCE) + align(ARRAY_HEADER + length);
+    }
+
+    /**
+     * Węzły i tablica kubełków mapy haszującej o podanej liczbie wpisów
+     * (bez kluczy i wartości). Tablica rośnie x2 po przekroczeniu 75% zapełnienia.
+     */
+    public static long hashMap(int size) {
+        if (size == 0) return 0;
+        int buckets = Integer.highestOneBit((int) Math.min(1 << 30, size * 4L / 3 + 1) - 1) << 1;
+        return size * MAP_NODE + referenceArray(Math.max(16, buckets));
+    }
+}
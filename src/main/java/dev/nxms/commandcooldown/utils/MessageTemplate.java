@@ -0,0 +1,92 @@
+package dev.nxms.commandcooldown.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wiadomość skompilowana raz do listy segmentów: tekst stały i numerowane placeholdery.
+ * Renderowanie to tylko doklejanie do StringBuildera, bez regexów i tworzenia map.
+ */
+public final class MessageTemplate {
+
+    // Segment >= 0 to indeks wartości, segment < 0 to -(indeks literału) - 1
+    private final String[] literals;
+    private final int[] segments;
+
+    private MessageTemplate(String[] literals, int[] segments) {
+        this.literals = literals;
+        this.segments = segments;
+    }
+
+    /**
+     * Kompiluje tekst z placeholderami {nazwa}. Placeholdery spoza {@code names}
+     * zostają w tekście bez zmian.
+     *
+     * @param text  Tekst wiadomości (z już podstawionymi placeholderami z configu)
+     * @param names Nazwy placeholderów w kolejności wartości przekazywanych do {@link #appendTo}
+     */
+    public static MessageTemplate compile(String text, String... names) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int close = c == '{' ? text.indexOf('}', i + 1) : -1;
+            int index = close > 0 ? indexOf(names, text, i + 1, close) : -1;
+
+            if (index < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+
+            if (literal.length() > 0) {
+                literals.add(literal.toString());
+                segments.add(-literals.size());
+                literal.setLength(0);
+            }
+            segments.add(index);
+            i = close + 1;
+        }
+
+        if (literal.length() > 0) {
+            literals.add(literal.toString());
+            segments.add(-literals.size());
+        }
+
+        int[] compiled = new int[segments.size()];
+        for (int s = 0; s < compiled.length; s++) {
+            compiled[s] = segments.get(s);
+        }
+        return new MessageTemplate(literals.toArray(new String[0]), compiled);
+    }
+
+    /**
+     * Dokleja wyrenderowaną wiadomość do {@code out}.
+     */
+    public StringBuilder appendTo(StringBuilder out, Object... values) {
+        for (int segment : segments) {
+            if (segment < 0) {
+                out.append(literals[-segment - 1]);
+            } else {
+                out.append(values[segment]);
+            }
+        }
+        return out;
+    }
+
+    public String render(Object... values) {
+        return appendTo(new StringBuilder(), values).toString();
+    }
+
+    private static int indexOf(String[] names, String text, int start, int end) {
+        for (int n = 0; n < names.length; n++) {
+            if (names[n].length() == end - start && text.startsWith(names[n], start)) {
+                return n;
+            }
+        }
+        return -1;
+    }
+}
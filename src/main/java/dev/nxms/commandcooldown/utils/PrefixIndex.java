@@ -0,0 +1,111 @@
+package dev.nxms.commandcooldown.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Niezmienny, posortowany indeks stringów do wyszukiwania po prefiksie.
+ * Budowany raz (np. przy przeładowaniu configu), odczytywany z dowolnego wątku.
+ */
+public final class PrefixIndex {
+
+    public static final PrefixIndex EMPTY = new PrefixIndex(new String[0]);
+
+    private final String[] keys;
+
+    private PrefixIndex(String[] keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Tworzy indeks z podanych wartości (małe litery, posortowane, bez duplikatów).
+     */
+    public static PrefixIndex of(Collection<String> values) {
+        if (values.isEmpty()) return EMPTY;
+
+        String[] sorted = new String[values.size()];
+        int n = 0;
+        for (String value : values) {
+            sorted[n++] = value.toLowerCase(Locale.ROOT);
+        }
+        Arrays.sort(sorted);
+
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || !sorted[unique - 1].equals(sorted[i])) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return new PrefixIndex(unique == n ? sorted : Arrays.copyOf(sorted, unique));
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public String get(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Indeks pierwszego klucza zaczynającego się od prefiksu {@code text[start, end)}
+     * (porównanie bez rozróżniania wielkości liter).
+     */
+    public int lowerBound(CharSequence text, int start, int end) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparePrefix(keys[mid], text, start, end) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Indeks za ostatnim kluczem zaczynającym się od prefiksu {@code text[start, end)}.
+     */
+    public int upperBound(CharSequence text, int start, int end) {
+        int lo = lowerBound(text, start, end);
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparePrefix(keys[mid], text, start, end) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Dodaje do {@code out} wszystkie klucze zaczynające się od prefiksu, w kolejności alfabetycznej.
+     */
+    public void collect(CharSequence text, int start, int end, List<String> out) {
+        int to = upperBound(text, start, end);
+        for (int i = lowerBound(text, start, end); i < to; i++) {
+            out.add(keys[i]);
+        }
+    }
+
+    /**
+     * Porównuje klucz z prefiksem, traktując klucz obcięty do długości prefiksu.
+     * Zwraca 0, gdy klucz zaczyna się od prefiksu.
+     */
+    private static int comparePrefix(String key, CharSequence text, int start, int end) {
+        int len = end - start;
+        int n = Math.min(key.length(), len);
+        for (int i = 0; i < n; i++) {
+            char a = key.charAt(i);
+            char b = Character.toLowerCase(text.charAt(start + i));
+            if (a != b) return a - b;
+        }
+        return key.length() >= len ? 0 : -1;
+    }
+}
@@ -0,0 +1,223 @@
+package dev.nxms.commandcooldown.utils;
+
+import java.util.Arrays;
+
+/**
+ * Szkic Space-Saving: przybliżone liczniki najczęstszych kluczy w stałej pamięci.
+ * Śledzi najwyżej {@code capacity} kluczy; nowy klucz przy pełnym szkicu zastępuje
+ * ten z najmniejszym licznikiem i dziedziczy jego wartość jako błąd. Każdy klucz
+ * występujący częściej niż suma / capacity jest na pewno w szkicu.
+ *
+ * <p>Klucz to dwie liczby long (np. UUID albo ID komendy). Slot klucza jest w tablicy
+ * haszującej z adresowaniem otwartym, a najmniejszy licznik na szczycie kopca - dodanie
+ * kosztuje O(log capacity) i nie alokuje. Klasa nie jest bezpieczna wątkowo.
+ */
+public final class SpaceSaving {
+
+    private final long[] keyHigh;
+    private final long[] keyLow;
+    private final long[] counts;
+    private final long[] errors;
+    private int size;
+
+    // Klucz -> slot + 1 (0 = puste miejsce), adresowanie liniowe
+    private final int[] index;
+    private final int mask;
+
+    // Kopiec minimalny po licznikach: pozycja w kopcu -> slot i slot -> pozycja w kopcu
+    private final int[] heap;
+    private final int[] heapPosition;
+
+    public SpaceSaving(int capacity) {
+        this.keyHigh = new long[capacity];
+        this.keyLow = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+
+        this.index = new int[Integer.highestOneBit(Math.max(4, capacity * 2 - 1) << 1)];
+        this.mask = index.length - 1;
+        this.heap = new int[capacity];
+        this.heapPosition = new int[capacity];
+    }
+
+    public int capacity() {
+        return counts.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Szacowany rozmiar szkicu w bajtach - stały dla danej pojemności.
+     */
+    public long estimateBytes() {
+        return MemoryEstimate.align(MemoryEstimate.OBJECT_HEADER + 7 * MemoryEstimate.REFERENCE + 2 * 4)
+                + 4 * MemoryEstimate.longArray(counts.length)
+                + 2 * MemoryEstimate.intArray(counts.length) + MemoryEstimate.intArray(index.length);
+    }
+
+    public void add(long high, long low) {
+        int position = find(high, low);
+        int slot = index[position] - 1;
+        if (slot >= 0) {
+            counts[slot]++;
+            siftDown(heapPosition[slot]);
+            return;
+        }
+
+        if (size < counts.length) {
+            slot = size++;
+            keyHigh[slot] = high;
+            keyLow[slot] = low;
+            counts[slot] = 1;
+            errors[slot] = 0;
+            index[position] = slot + 1;
+
+            heap[slot] = slot;
+            heapPosition[slot] = slot;
+            siftUp(slot);
+            return;
+        }
+
+        // Klucz z najmniejszym licznikiem oddaje slot nowemu
+        slot = heap[0];
+        remove(find(keyHigh[slot], keyLow[slot]));
+        keyHigh[slot] = high;
+        keyLow[slot] = low;
+        errors[slot] = counts[slot];
+        counts[slot]++;
+        index[find(high, low)] = slot + 1;
+        siftDown(0);
+    }
+
+    /**
+     * Dzieli wszystkie liczniki przez 2^{@code times} - starsze zdarzenia ważą mniej.
+     * Dzielenie nie zmienia kolejności liczników, więc kopiec zostaje poprawny.
+     */
+    public void decay(int times) {
+        if (times <= 0) return;
+        int shift = Math.min(63, times);
+        for (int slot = 0; slot < size; slot++) {
+            counts[slot] >>>= shift;
+            errors[slot] >>>= shift;
+        }
+    }
+
+    public void clear() {
+        size = 0;
+        Arrays.fill(index, 0);
+    }
+
+    /**
+     * Sloty z niezerowym licznikiem, od największego, najwyżej {@code limit}.
+     */
+    public int[] top(int limit) {
+        int[] result = new int[Math.min(limit, size)];
+        if (result.length == 0) return result;
+
+        // Wstawianie do posortowanej tablicy najwyżej limit slotów
+        int n = 0;
+        for (int slot = 0; slot < size; slot++) {
+            long count = counts[slot];
+            if (count == 0 || (n == result.length && count <= counts[result[n - 1]])) continue;
+
+            int i = n < result.length ? n++ : n - 1;
+            while (i > 0 && counts[result[i - 1]] < count) {
+                result[i] = result[i - 1];
+                i--;
+            }
+            result[i] = slot;
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    public long getKeyHigh(int slot) {
+        return keyHigh[slot];
+    }
+
+    public long getKeyLow(int slot) {
+        return keyLow[slot];
+    }
+
+    /**
+     * Licznik klucza - może być zawyżony najwyżej o {@link #getError(int)}.
+     */
+    public long getCount(int slot) {
+        return counts[slot];
+    }
+
+    public long getError(int slot) {
+        return errors[slot];
+    }
+
+    // =========== INDEKS ===========
+
+    // Miejsce klucza w indeksie albo pierwsze puste miejsce, gdzie powinien trafić
+    private int find(long high, long low) {
+        int position = hash(high, low) & mask;
+        int slot;
+        while ((slot = index[position] - 1) >= 0) {
+            if (keyHigh[slot] == high && keyLow[slot] == low) return position;
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    // Usuwa wpis i przesuwa kolejne wpisy z tego samego ciągu, żeby wyszukiwanie nie urwało się na dziurze
+    private void remove(int position) {
+        int hole = position;
+        int next = (hole + 1) & mask;
+        while (index[next] != 0) {
+            int slot = index[next] - 1;
+            int home = hash(keyHigh[slot], keyLow[slot]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                index[hole] = index[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        index[hole] = 0;
+    }
+
+    private static int hash(long high, long low) {
+        long key = high * 0x9e3779b97f4a7c15L + low;
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    // =========== KOPIEC ===========
+
+    private void siftUp(int position) {
+        int slot = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[slot]) break;
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(slot, position);
+    }
+
+    private void siftDown(int position) {
+        int slot = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) break;
+            if (child + 1 < size && counts[heap[child + 1]] < counts[heap[child]]) child++;
+            if (counts[heap[child]] >= counts[slot]) break;
+            place(heap[child], position);
+            position = child;
+        }
+        place(slot, position);
+    }
+
+    private void place(int slot, int position) {
+        heap[position] = slot;
+        heapPosition[slot] = position;
+    }
+}
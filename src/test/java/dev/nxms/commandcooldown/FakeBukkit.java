@@ -0,0 +1,218 @@
+package dev.nxms.commandcooldown;
+
+import dev.nxms.commandcooldown.utils.MemoryEstimate;
+import org.bukkit.Server;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandMap;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginLoader;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Atrapy obiektów Bukkit do testów - plugin złożony z prawdziwych menedżerów, bez serwera.
+ *
+ * <p>Interfejsy są proxy: kolekcje zwracają puste, inne interfejsy kolejne atrapy (jedna na typ),
+ * typy proste wartości domyślne, a pozostałe typy null. Mapa komend zna każdy label,
+ * jak serwer z zarejestrowanymi komendami wszystkich pluginów.
+ *
+ * <p>Proxy alokuje przy każdym wywołaniu metody z argumentami: tablicę argumentów i boxing typów
+ * prostych. Te bajty są liczone w {@link #allocatedBytes()}, a testy alokacji je odejmują. Tablica
+ * argumentów zawsze ucieka do pola, więc escape analysis JIT jej nie usunie i odjęcie jest dokładne
+ * niezależnie od poziomu kompilacji.
+ */
+public final class FakeBukkit {
+
+    private static final InvocationHandler DEFAULTS = (proxy, method, args) -> defaultValue(proxy, method, args);
+
+    // Zwracane atrapy interfejsów i wartości bez boxingu przy każdym wywołaniu
+    private static final Map<Class<?>, Object> DEFAULT_PROXIES = new ConcurrentHashMap<>();
+
+    // Method.getParameterTypes() zwraca kopię tablicy - typy liczone raz na metodę
+    private static final Map<Method, Class<?>[]> PARAMETER_TYPES = new ConcurrentHashMap<>();
+    private static final Object ZERO_FLOAT = 0.0f;
+    private static final Object ZERO_DOUBLE = 0.0;
+
+    // Bajty zaalokowane przez proxy atrap (tylko z wątku testu) i ostatnia tablica argumentów
+    private static long allocated;
+    private static volatile Object[] lastArgs;
+
+    private static final CommandMap COMMAND_MAP = proxy(CommandMap.class, (proxy, method, args) -> switch (method.getName()) {
+        case "getCommand" -> new FakeCommand((String) args[0]);
+        case "getKnownCommands" -> new HashMap<String, Command>();
+        default -> defaultValue(proxy, method, args);
+    });
+
+    private static final Server SERVER = proxy(Server.class, (proxy, method, args) -> switch (method.getName()) {
+        case "getCommandMap" -> COMMAND_MAP;
+        case "getLogger" -> Logger.getLogger("FakeBukkit");
+        case "isPrimaryThread" -> true;
+        default -> defaultValue(proxy, method, args);
+    });
+
+    private FakeBukkit() {
+    }
+
+    public static Server server() {
+        return SERVER;
+    }
+
+    /**
+     * Bajty zaalokowane od startu przez wywołania metod atrap: tablice argumentów proxy i boxing
+     * argumentów typów prostych (sterta ze skompresowanymi wskaźnikami, jak {@link MemoryEstimate}).
+     * Testy odejmują przyrost od licznika alokacji wątku, żeby mierzyć sam kod pluginu.
+     */
+    public static long allocatedBytes() {
+        return allocated;
+    }
+
+    /**
+     * Plugin z menedżerami z domyślnego configu, bez rejestracji komend, listenerów i usługi.
+     *
+     * <p>Konstruktor JavaPlugin wymaga classloadera serwera, więc obiekt pluginu powstaje bez
+     * konstruktora, a opis i folder danych ustawia JavaPlugin.init - to samo robi testowy
+     * konstruktor JavaPlugin, którego plugin dzięki temu nie musi udostępniać.
+     *
+     * @param dataFolder Pusty folder danych - trafia do niego domyślny config.yml
+     */
+    @SuppressWarnings("removal")
+    public static CommandCooldown plugin(File dataFolder) throws Exception {
+        PluginDescriptionFile description;
+        try (InputStream in = CommandCooldown.class.getClassLoader().getResourceAsStream("plugin.yml")) {
+            description = new PluginDescriptionFile(in);
+        }
+
+        CommandCooldown plugin = allocate(CommandCooldown.class);
+        Method init = JavaPlugin.class.getDeclaredMethod("init", PluginLoader.class, Server.class,
+                PluginDescriptionFile.class, File.class, File.class, ClassLoader.class);
+        init.setAccessible(true);
+        init.invoke(plugin, new JavaPluginLoader(SERVER), SERVER, description, dataFolder,
+                new File(dataFolder, "CommandCooldown.jar"), CommandCooldown.class.getClassLoader());
+
+        plugin.saveDefaultConfig();
+        plugin.createManagers();
+        return plugin;
+    }
+
+    // Obiekt bez wywołania konstruktora - sun.misc.Unsafe z modułu jdk.unsupported
+    private static <T> T allocate(Class<T> type) throws ReflectiveOperationException {
+        Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+        Field field = unsafeType.getDeclaredField("theUnsafe");
+        field.setAccessible(true);
+        Object unsafe = field.get(null);
+        return type.cast(unsafeType.getMethod("allocateInstance", Class.class).invoke(unsafe, type));
+    }
+
+    /**
+     * Gracz bez permisji, z angielskim językiem klienta. Wiadomości wysłane do gracza są pomijane.
+     * Proxy wołane na ścieżce komend - obsługa tych metod nie alokuje po rozgrzaniu JIT.
+     */
+    public static Player player(UUID uuid) {
+        String name = "player-" + Long.toHexString(uuid.getLeastSignificantBits());
+        return proxy(Player.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getUniqueId" -> uuid;
+            case "hasPermission", "isOp" -> false;
+            case "getServer" -> SERVER;
+            case "getName" -> name;
+            case "locale" -> Locale.ENGLISH;
+            case "isOnline" -> true;
+            default -> defaultValue(proxy, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        InvocationHandler counted = (proxy, method, args) -> {
+            if (args != null) {
+                lastArgs = args;
+                allocated += argumentBytes(method, args);
+            }
+            return handler.invoke(proxy, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(FakeBukkit.class.getClassLoader(), new Class<?>[]{type}, counted));
+    }
+
+    // Tablica argumentów i obiekty z boxingu - wartości z cache valueOf nie są alokowane
+    private static long argumentBytes(Method method, Object[] args) {
+        long bytes = MemoryEstimate.referenceArray(args.length);
+        Class<?>[] types = PARAMETER_TYPES.computeIfAbsent(method, Method::getParameterTypes);
+        for (int i = 0; i < args.length; i++) {
+            if (types[i].isPrimitive()) bytes += boxBytes(args[i]);
+        }
+        return bytes;
+    }
+
+    private static long boxBytes(Object box) {
+        if (box instanceof Boolean || box instanceof Byte) return 0;
+        if (box instanceof Character value) {
+            return value <= 127 ? 0 : MemoryEstimate.align(MemoryEstimate.OBJECT_HEADER + 2);
+        }
+
+        boolean floating = box instanceof Float || box instanceof Double;
+        long value = ((Number) box).longValue();
+        if (!floating && value >= -128 && value <= 127) return 0;
+        return MemoryEstimate.align(MemoryEstimate.OBJECT_HEADER
+                + (box instanceof Long || box instanceof Double ? 8 : 4));
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                if (method.getParameterCount() == 1) return proxy == args[0];
+                break;
+            case "hashCode":
+                if (method.getParameterCount() == 0) return System.identityHashCode(proxy);
+                break;
+            case "toString":
+                if (method.getParameterCount() == 0) return "Fake" + proxy.getClass().getInterfaces()[0].getSimpleName();
+                break;
+        }
+
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return ZERO_DOUBLE;
+        if (type == float.class) return ZERO_FLOAT;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        if (type == Set.class) return Set.of();
+        if (type == Map.class) return Map.of();
+        if (type == Optional.class) return Optional.empty();
+        if (type.isAssignableFrom(List.class) && Collection.class.isAssignableFrom(type)) return List.of();
+        if (type.isInterface()) return DEFAULT_PROXIES.computeIfAbsent(type, t -> proxy(t, DEFAULTS));
+        return null;
+    }
+
+    // Komenda zarejestrowana na serwerze - nazwa to label, bez aliasów
+    private static final class FakeCommand extends Command {
+
+        private FakeCommand(String name) {
+            super(name);
+        }
+
+        @Override
+        public boolean execute(CommandSender sender, String label, String[] args) {
+            return true;
+        }
+    }
+}
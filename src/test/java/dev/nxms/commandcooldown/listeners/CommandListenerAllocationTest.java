@@ -0,0 +1,125 @@
+package dev.nxms.commandcooldown.listeners;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.FakeBukkit;
+import dev.nxms.commandcooldown.managers.ConfigManager;
+import dev.nxms.commandcooldown.managers.CooldownManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Budżety alokacji {@link CommandListener#onCommand} dla znanych graczy - przekroczenie psuje build.
+ *
+ * <p>Pomiar po rozgrzaniu JIT; z kilku przebiegów liczy się najlepszy, bo regresja alokuje
+ * w każdym przebiegu, a pojedynczy może trafić na kompilację w tle. Bajty zaalokowane przez
+ * proxy atrap ({@link FakeBukkit#allocatedBytes()}) są odejmowane, więc wynik nie zależy od tego,
+ * czy JIT usunie ich tablice argumentów.
+ */
+class CommandListenerAllocationTest {
+
+    private static final int PLAYERS = 256;
+    private static final int WARMUP_CALLS = 200_000;
+    private static final int MEASURED_CALLS = 100_000;
+    private static final int ROUNDS = 5;
+
+    // Globalny (label spoza configu), komenda z cooldownem, wielkie litery, przestrzeń nazw
+    private static final String[] MESSAGES = {"/sim1 a", "/tpa bob", "/SPAWN", "/minecraft:home x"};
+
+    @TempDir
+    File dataFolder;
+
+    private CooldownManager cooldowns;
+    private CommandListener listener;
+    private Player[] players;
+    private int[] rules;
+    private PlayerCommandPreprocessEvent event;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        CommandCooldown plugin = FakeBukkit.plugin(dataFolder);
+        cooldowns = plugin.getCooldownManager();
+        listener = new CommandListener(plugin);
+
+        rules = new int[MESSAGES.length];
+        for (int m = 0; m < MESSAGES.length; m++) {
+            int end = MESSAGES[m].indexOf(' ');
+            rules[m] = plugin.getCommandResolver().resolve(MESSAGES[m], 1, end < 0 ? MESSAGES[m].length() : end);
+            assertTrue(rules[m] == ConfigManager.RULE_GLOBAL || rules[m] >= 0, "no cooldown rule for " + MESSAGES[m]);
+        }
+
+        players = new Player[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = FakeBukkit.player(new UUID(i + 1, i + 1));
+        }
+        event = new PlayerCommandPreprocessEvent(players[0], MESSAGES[0]);
+
+        // Pierwsza komenda gracza tworzy jego stan - jednorazowy koszt poza budżetem
+        for (Player player : players) {
+            for (String message : MESSAGES) {
+                call(player, message);
+            }
+        }
+    }
+
+    @Test
+    void allowedCommandDoesNotAllocate() {
+        double bytes = measure(false);
+        assertTrue(bytes <= LoadSimulator.ALLOW_BUDGET_BYTES, () -> String.format(Locale.ROOT,
+                "allowed command allocates %.2f B/call, budget %.0f B", bytes, LoadSimulator.ALLOW_BUDGET_BYTES));
+    }
+
+    @Test
+    void blockedCommandAllocatesOnlyItsMessage() {
+        double bytes = measure(true);
+        assertTrue(bytes <= LoadSimulator.BLOCK_BUDGET_BYTES, () -> String.format(Locale.ROOT,
+                "blocked command allocates %.0f B/call, budget %.0f B", bytes, LoadSimulator.BLOCK_BUDGET_BYTES));
+    }
+
+    // Najmniej bajtów na wywołanie z kilku przebiegów po rozgrzaniu
+    private double measure(boolean blocked) {
+        com.sun.management.ThreadMXBean threads = LoadSimulator.THREADS;
+        assumeTrue(threads != null, "thread allocation counter not supported by this JVM");
+
+        run(WARMUP_CALLS, blocked);
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long fake = FakeBukkit.allocatedBytes();
+            long before = threads.getCurrentThreadAllocatedBytes();
+            run(MEASURED_CALLS, blocked);
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before - (FakeBukkit.allocatedBytes() - fake);
+            best = Math.min(best, (double) allocated / MEASURED_CALLS);
+        }
+        return best;
+    }
+
+    // Przed każdą komendą cooldown jest czyszczony (przejdzie) albo ustawiany na godzinę (blokada)
+    private void run(int calls, boolean blocked) {
+        long expiry = blocked ? System.currentTimeMillis() + 3_600_000L : 0L;
+        for (int i = 0; i < calls; i++) {
+            Player player = players[i % PLAYERS];
+            int m = (i / PLAYERS) % MESSAGES.length;
+            cooldowns.setExpiry(player.getUniqueId(), rules[m], expiry);
+
+            call(player, MESSAGES[m]);
+            assertEquals(blocked, event.isCancelled(), MESSAGES[m]);
+        }
+    }
+
+    private void call(Player player, String message) {
+        event.setPlayer(player);
+        event.setMessage(message);
+        event.setCancelled(false);
+        listener.onCommand(event);
+    }
+}
@@ -0,0 +1,352 @@
+package dev.nxms.commandcooldown.listeners;
+
+import dev.nxms.commandcooldown.CommandCooldown;
+import dev.nxms.commandcooldown.FakeBukkit;
+import dev.nxms.commandcooldown.managers.ConfigManager;
+import dev.nxms.commandcooldown.managers.CooldownManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerCommandPreprocessEvent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Syntetyczne obciążenie ścieżki komend: "1000 graczy spamujących komendami" bez prawdziwych graczy.
+ *
+ * <p>Komendy przechodzą przez prawdziwy {@link CommandListener} pluginu złożonego z atrap
+ * ({@link FakeBukkit}): rozwiązanie labela przez CommandResolver, sprawdzenie i nałożenie cooldownu
+ * oraz zbudowanie i wysłanie wiadomości o blokadzie. Listener, cache labeli i stan bloków są
+ * tylko dla głównego wątku, więc symulacja działa na jednym wątku - jak serwer.
+ *
+ * <p>Labele losowane są z rozkładu Zipfa, gracze wysyłają komendy seriami, a część komend
+ * pochodzi od zawsze nowych UUID.
+ *
+ * <p>Jeśli JVM to wspiera, mierzone są też bajty zaalokowane przez każdą komendę (bez alokacji
+ * samych atrap) i porównywane z budżetem dla komend przepuszczonych i zablokowanych.
+ */
+public class LoadSimulator {
+
+    // Wykładnik rozkładu Zipfa dla popularności labeli
+    private static final double ZIPF_EXPONENT = 1.07;
+
+    // Labele bez własnego cooldownu (trafiają w globalny) dodawane do mieszanki
+    private static final int SYNTHETIC_LABELS = 32;
+
+    // Szansa na serię komend i jej maksymalna długość
+    private static final double BURST_CHANCE = 0.3;
+    private static final int MAX_BURST = 20;
+
+    // Szansa, że komenda pochodzi od nowego, wcześniej niewidzianego gracza
+    private static final double NEW_PLAYER_CHANCE = 0.01;
+
+    // Histogram czasów: 16 pod-przedziałów na potęgę dwójki (ns)
+    private static final int HISTOGRAM_SIZE = 1024;
+
+    /**
+     * Budżet alokacji na komendę: przepuszczona komenda nie powinna alokować wcale
+     * (poza jednorazowym stanem gracza), zablokowana - tylko tekst wiadomości.
+     */
+    public static final double ALLOW_BUDGET_BYTES = 1.0;
+    public static final double BLOCK_BUDGET_BYTES = 1024.0;
+
+    // Licznik alokacji wątku (HotSpot) albo null, jeśli JVM go nie wspiera
+    static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private final CommandCooldown plugin;
+    private final ConfigManager config;
+    private final CommandListener listener;
+
+    public LoadSimulator(CommandCooldown plugin) {
+        this.plugin = plugin;
+        this.config = plugin.getConfigManager();
+        this.listener = new CommandListener(plugin);
+    }
+
+    /**
+     * Wynik symulacji.
+     */
+    public static final class Result {
+
+        private long operations;
+        private long blocked;
+        private long elapsedNanos;
+        private final long[] histogram = new long[HISTOGRAM_SIZE];
+        private long maxNanos;
+        private long heapBefore;
+        private long heapAfter;
+        private int trackedPlayers;
+        private int activePlayers;
+        private long stateBytes;
+
+        // Alokacje tylko dla stałych graczy - komendy nowych graczy zawsze tworzą ich stan
+        private boolean allocationMeasured;
+        private long measuredAllowed;
+        private long allowedBytes;
+        private long measuredBlocked;
+        private long blockedBytes;
+
+        public long getOperations() {
+            return operations;
+        }
+
+        public long getBlocked() {
+            return blocked;
+        }
+
+        public long getThroughput() {
+            return elapsedNanos == 0 ? 0 : operations * 1_000_000_000L / elapsedNanos;
+        }
+
+        /**
+         * Percentyl czasu jednej komendy w ns (dolna granica przedziału histogramu).
+         *
+         * @param percentile Wartość z zakresu (0, 100]
+         */
+        public long getLatencyNanos(double percentile) {
+            long target = (long) Math.ceil(operations * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+                seen += histogram[i];
+                if (seen >= target && seen > 0) return bucketValue(i);
+            }
+            return maxNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Przyrost zajętej sterty w bajtach (bez wymuszania GC - wartość orientacyjna).
+         */
+        public long getHeapGrowth() {
+            return heapAfter - heapBefore;
+        }
+
+        public int getTrackedPlayers() {
+            return trackedPlayers;
+        }
+
+        public int getActivePlayers() {
+            return activePlayers;
+        }
+
+        /**
+         * Szacowany rozmiar stanu cooldownów (CooldownManager.Footprint) na śledzonego gracza.
+         */
+        public long getStateBytesPerPlayer() {
+            return trackedPlayers == 0 ? 0 : stateBytes / trackedPlayers;
+        }
+
+        /**
+         * Wyniki porównywane z wartościami odniesienia - ten sam format co plik bazowy testu.
+         */
+        public Properties toProperties() {
+            Properties properties = new Properties();
+            properties.setProperty("throughput", String.valueOf(getThroughput()));
+            properties.setProperty("p99-nanos", String.valueOf(getLatencyNanos(99)));
+            properties.setProperty("state-bytes-per-player", String.valueOf(getStateBytesPerPlayer()));
+            return properties;
+        }
+
+        public boolean isAllocationMeasured() {
+            return allocationMeasured;
+        }
+
+        /**
+         * Średnia liczba bajtów zaalokowanych przez przepuszczoną komendę.
+         */
+        public double getAllowedBytesPerCall() {
+            return measuredAllowed == 0 ? 0 : (double) allowedBytes / measuredAllowed;
+        }
+
+        /**
+         * Średnia liczba bajtów zaalokowanych przez zablokowaną komendę.
+         */
+        public double getBlockedBytesPerCall() {
+            return measuredBlocked == 0 ? 0 : (double) blockedBytes / measuredBlocked;
+        }
+
+        public boolean isWithinAllocationBudget() {
+            return !allocationMeasured || (getAllowedBytesPerCall() <= ALLOW_BUDGET_BYTES
+                    && getBlockedBytesPerCall() <= BLOCK_BUDGET_BYTES);
+        }
+
+        // Raport do porównania z wcześniejszymi przebiegami
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format(Locale.ROOT, "Commands: %d (%d/s, %d%% blocked)%n", operations, getThroughput(),
+                    operations == 0 ? 0 : blocked * 100 / operations));
+            report.append(String.format(Locale.ROOT, "Latency: p50 %.2fus, p99 %.2fus, p99.9 %.2fus, max %.2fus%n",
+                    getLatencyNanos(50) / 1000.0, getLatencyNanos(99) / 1000.0,
+                    getLatencyNanos(99.9) / 1000.0, maxNanos / 1000.0));
+            report.append(String.format(Locale.ROOT, "Heap growth: %.1f MB (%d tracked, %d active players)%n",
+                    getHeapGrowth() / (1024.0 * 1024.0), trackedPlayers, activePlayers));
+            report.append(String.format(Locale.ROOT, "Cooldown state: %d B per player%n", getStateBytesPerPlayer()));
+            if (allocationMeasured) {
+                report.append(String.format(Locale.ROOT, "Allocated per command: allowed %.2f B, blocked %.0f B"
+                                + " (budget %.0f B / %.0f B)", getAllowedBytesPerCall(), getBlockedBytesPerCall(),
+                        ALLOW_BUDGET_BYTES, BLOCK_BUDGET_BYTES));
+            } else {
+                report.append("Allocated per command: not supported by this JVM");
+            }
+            return report.toString();
+        }
+
+        private void record(long nanos, boolean cancelled) {
+            operations++;
+            if (cancelled) blocked++;
+            histogram[bucket(nanos)]++;
+            if (nanos > maxNanos) maxNanos = nanos;
+        }
+
+        private void recordAllocation(boolean cancelled, long bytes) {
+            if (cancelled) {
+                measuredBlocked++;
+                blockedBytes += bytes;
+            } else {
+                measuredAllowed++;
+                allowedBytes += bytes;
+            }
+        }
+    }
+
+    /**
+     * Uruchamia symulację na bieżącym wątku i czeka na jej koniec.
+     *
+     * @param players Liczba stałych graczy
+     * @param seconds Czas trwania
+     */
+    public Result run(int players, int seconds) {
+        String[] messages = buildMessages();
+        double[] cdf = zipfCdf(messages.length);
+        SplittableRandom random = new SplittableRandom(17);
+
+        Player[] pool = new Player[players];
+        for (int i = 0; i < players; i++) {
+            pool[i] = FakeBukkit.player(new UUID(random.nextLong(), random.nextLong()));
+        }
+        // Jedno zdarzenie dla wszystkich komend - jego tworzenie nie wlicza się do pomiaru
+        PlayerCommandPreprocessEvent event = new PlayerCommandPreprocessEvent(pool[0], messages[0]);
+
+        com.sun.management.ThreadMXBean threads = THREADS;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        Result result = new Result();
+        result.allocationMeasured = threads != null;
+        result.heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        long started = System.nanoTime();
+        long deadline = started + seconds * 1_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            boolean newPlayer = random.nextDouble() < NEW_PLAYER_CHANCE;
+            Player player = newPlayer
+                    ? FakeBukkit.player(new UUID(random.nextLong(), random.nextLong()))
+                    : pool[random.nextInt(pool.length)];
+            int burst = random.nextDouble() < BURST_CHANCE ? 2 + random.nextInt(MAX_BURST - 1) : 1;
+
+            for (int i = 0; i < burst; i++) {
+                event.setPlayer(player);
+                event.setMessage(messages[sampleLabel(cdf, random)]);
+                event.setCancelled(false);
+
+                long fake = FakeBukkit.allocatedBytes();
+                long allocated = threads != null ? threads.getCurrentThreadAllocatedBytes() : 0;
+                long start = System.nanoTime();
+                listener.onCommand(event);
+                long nanos = System.nanoTime() - start;
+                if (threads != null && !newPlayer) {
+                    result.recordAllocation(event.isCancelled(), threads.getCurrentThreadAllocatedBytes() - allocated
+                            - (FakeBukkit.allocatedBytes() - fake));
+                }
+                result.record(nanos, event.isCancelled());
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - started;
+
+        CooldownManager cooldowns = plugin.getCooldownManager();
+        result.heapAfter = memory.getHeapMemoryUsage().getUsed();
+        result.trackedPlayers = cooldowns.getTrackedPlayers();
+        result.activePlayers = cooldowns.countActive();
+        result.stateBytes = cooldowns.getFootprint().total();
+        return result;
+    }
+
+    // Komendy z cooldownem, wykluczone i bez reguły, przemieszane i z losową wielkością liter
+    private String[] buildMessages() {
+        List<String> labels = new ArrayList<>(config.getCommandCooldowns().keySet());
+        labels.addAll(config.getExcludedCommands());
+        for (int i = 0; i < SYNTHETIC_LABELS; i++) {
+            labels.add("sim" + i);
+        }
+
+        Collections.shuffle(labels, new Random(42));
+        SplittableRandom random = new SplittableRandom(42);
+
+        String[] result = new String[labels.size()];
+        for (int i = 0; i < result.length; i++) {
+            String label = labels.get(i);
+            if (random.nextInt(4) == 0) label = label.toUpperCase(Locale.ROOT);
+            result[i] = "/" + label + " arg" + random.nextInt(100);
+        }
+        return result;
+    }
+
+    private static int sampleLabel(double[] cdf, SplittableRandom random) {
+        double value = random.nextDouble();
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < value) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads;
+    }
+
+    private static double[] zipfCdf(int size) {
+        double[] cdf = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1.0 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos < 32) return (int) Math.max(0, nanos);
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int sub = (int) (nanos >>> (exponent - 4)) & 15;
+        return Math.min(HISTOGRAM_SIZE - 1, 32 + (exponent - 5) * 16 + sub);
+    }
+
+    private static long bucketValue(int bucket) {
+        if (bucket < 32) return bucket;
+        int exponent = 5 + (bucket - 32) / 16;
+        int sub = (bucket - 32) % 16;
+        return (16L + sub) << (exponent - 4);
+    }
+}
@@ -0,0 +1,81 @@
+package dev.nxms.commandcooldown.listeners;
+
+import dev.nxms.commandcooldown.FakeBukkit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Krótki przebieg symulatora przy każdym buildzie, porównywany z wynikami odniesienia
+ * ({@code load-simulator-baseline.properties} albo plik z {@code -Dsimulator.baseline}).
+ * Dłuższy przebieg: {@code mvn test -Dtest=LoadSimulatorTest -Dsimulator.players=5000 -Dsimulator.seconds=30}
+ */
+class LoadSimulatorTest {
+
+    private static final String BASELINE = "load-simulator-baseline.properties";
+
+    @TempDir
+    File dataFolder;
+
+    @Test
+    void spamFromManyPlayers(TestReporter reporter) throws Exception {
+        int players = Integer.getInteger("simulator.players", 1000);
+        int seconds = Integer.getInteger("simulator.seconds", 2);
+
+        LoadSimulator.Result result = new LoadSimulator(FakeBukkit.plugin(dataFolder)).run(players, seconds);
+        reporter.publishEntry("simulation", players + " players, " + seconds + "s" + System.lineSeparator() + result);
+
+        assertTrue(result.getOperations() > 0, "no commands were simulated");
+        assertTrue(result.getBlocked() > 0, "no command was blocked by a cooldown");
+        assertTrue(result.getTrackedPlayers() > 0, "no cooldown state was created");
+
+        // Wyniki tego przebiegu - CI może je zachować jako kolejne wartości odniesienia
+        Properties current = result.toProperties();
+        Path output = Path.of(System.getProperty("simulator.output", "target/load-simulator.properties"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (OutputStream out = Files.newOutputStream(output)) {
+            current.store(out, "LoadSimulatorTest: " + players + " players, " + seconds + "s");
+        }
+
+        Properties baseline = loadBaseline();
+        double tolerance = Double.parseDouble(baseline.getProperty("tolerance", "0.5"));
+        assertNotWorse(baseline, current, "throughput", true, tolerance);
+        assertNotWorse(baseline, current, "p99-nanos", false, tolerance);
+        assertNotWorse(baseline, current, "state-bytes-per-player", false, tolerance);
+    }
+
+    private static Properties loadBaseline() throws IOException {
+        Properties baseline = new Properties();
+        String path = System.getProperty("simulator.baseline");
+        try (InputStream in = path != null ? Files.newInputStream(Path.of(path))
+                : LoadSimulatorTest.class.getClassLoader().getResourceAsStream(BASELINE)) {
+            assertNotNull(in, "missing " + BASELINE);
+            baseline.load(in);
+        }
+        return baseline;
+    }
+
+    // Brak klucza w pliku bazowym = bez porównania
+    private static void assertNotWorse(Properties baseline, Properties current, String key,
+                                       boolean higherIsBetter, double tolerance) {
+        String expected = baseline.getProperty(key);
+        if (expected == null) return;
+
+        double reference = Double.parseDouble(expected);
+        double actual = Double.parseDouble(current.getProperty(key));
+        double limit = higherIsBetter ? reference * (1 - tolerance) : reference * (1 + tolerance);
+        assertTrue(higherIsBetter ? actual >= limit : actual <= limit, () -> key + " regressed: " + actual
+                + " vs baseline " + reference + " (limit " + limit + ")");
+    }
+}